@@ -2,82 +2,300 @@ package com.selenide.base;
 
 
 import com.codeborne.selenide.Condition;
+import com.codeborne.selenide.Selenide;
 import com.codeborne.selenide.SelenideElement;
+import com.selenide.listener.StepRecorder;
+import com.selenide.utils.ActionEpoch;
+import com.selenide.utils.ElementCache;
+import com.selenide.utils.PageExpectations;
+import com.selenide.utils.PerformanceBudget;
+import com.selenide.utils.PerformanceCollector;
+import com.selenide.utils.PerformanceSample;
+import com.selenide.utils.WaitUtil;
 import io.qameta.allure.Step;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
 import static com.codeborne.selenide.Selenide.$;
+import static com.codeborne.selenide.Selenide.$$;
+import static com.codeborne.selenide.Selenide.executeJavaScript;
 
 
 // BasePage - common reusable methods for all page objects.
 
 public abstract class BasePage {
 
+    // Name (innerText of arguments[1]) of the item at position arguments[2] of selector arguments[0]
+    private static final String ITEM_NAME_SCRIPT =
+            "var it = document.querySelectorAll(arguments[0])[arguments[2]];" +
+            "var n = it && it.querySelector(arguments[1]);" +
+            "return n ? n.innerText : null;";
+
     protected final Logger logger = LoggerFactory.getLogger(this.getClass());
 
+    // DOM snapshot of this page and the action epoch it was taken at
+    private Object snapshot;
+    private long snapshotEpoch;
+
+    // Resolved element references, used when "elementCache" is enabled
+    private final ElementCache elementCache = new ElementCache(getClass().getSimpleName());
+
+    protected BasePage() {
+        ActionEpoch.ensureListening();
+    }
+
     // every page should define its own unique identifier
     protected abstract SelenideElement getPageIdentifier();
 
 
-     // Verify that the page is loaded by checking its unique identifier.
+    // JavaScript expression that is truthy once the page is ready to use.
+    // Checked together with document.readyState in one script per poll.
+    protected String readinessPredicate() {
+        return "true";
+    }
+
+
+    // Everything the page should show once loaded, checked in one script per poll.
+    // Pages without expectations fall back to their page identifier.
+    protected PageExpectations pageExpectations() {
+        return null;
+    }
+
+
+     // Verify that the page is loaded: readiness probe first, then wait (configured timeout)
+     // for its expectations / unique identifier, as a page may still render after readyState.
 
     @Step("Verify page is loaded")
     public boolean isPageLoaded() {
         try {
-            getPageIdentifier().shouldBe(Condition.visible);
+            if (!waitUntilReady()) {
+                logger.error(" Page [{}] failed to load.", this.getClass().getSimpleName());
+                return false;
+            }
+            PageExpectations expectations = pageExpectations();
+            if (expectations != null) {
+                WaitUtil.waitForAll(expectations);
+            } else {
+                WaitUtil.waitForVisibility(getPageIdentifier());
+            }
             logger.info(" Page [{}] loaded successfully.", this.getClass().getSimpleName());
             return true;
-        } catch (Exception e) {
+        } catch (Exception | AssertionError e) {
             logger.error(" Page [{}] failed to load.", this.getClass().getSimpleName(), e);
             return false;
         }
     }
 
 
+     // Wait until the page's readiness predicate holds (one script per poll).
+
+    public boolean waitUntilReady() {
+        return WaitUtil.waitForPageReady(this.getClass().getSimpleName(), readinessPredicate());
+    }
+
+
+     // Wait until all of the page's expectations hold; the failure names each unmet sub-condition.
+
+    public void verifyPageExpectations() {
+        PageExpectations expectations = pageExpectations();
+        if (expectations == null) {
+            waitForVisibility(getPageIdentifier());
+            return;
+        }
+        WaitUtil.waitForAll(expectations);
+    }
+
+
+     // Post-navigation hook: page objects return the target page through this right after
+     // a navigation, so it settles (network idle) before the test continues; also where
+     // performance metrics are collected when "perf.enabled" is set.
+
+    @SuppressWarnings("unchecked")
+    public <P extends BasePage> P landed() {
+        settleNetwork();
+        PerformanceSample sample = PerformanceCollector.onNavigation(this.getClass().getSimpleName());
+        if (PerformanceBudget.isEnforced() && performanceBudget() != null) {
+            assertPerformanceBudget(sample);
+        }
+        return (P) this;
+    }
+
+
+    // Performance limits of this page (e.g. LCP, TTFB); null when the page has none.
+    protected PerformanceBudget performanceBudget() {
+        return null;
+    }
+
+
+     // Fails when the page is over its performance budget. A single slow measurement never fails:
+     // the page is reloaded and measured again, and only a budget exceeded by every attempt
+     // ("budget.attempts", default 3) fails the test. Pages reached by client-side routing are
+     // reloaded first, since their navigation timings belong to an earlier document.
+
+    public void assertPerformanceBudget() {
+        assertPerformanceBudget(null);
+    }
+
+
+     // Same, starting from a sample already taken on this page ('landed' passes the one just recorded,
+     // so the check does not take a second one); only the reload retries measure again.
+
+    protected void assertPerformanceBudget(PerformanceSample landedSample) {
+        PerformanceBudget budget = performanceBudget();
+        if (budget == null) {
+            return;
+        }
+        int attempts = PerformanceBudget.attempts();
+        List<String> violations = List.of();
+        for (int attempt = 1; attempt <= attempts; attempt++) {
+            PerformanceSample sample = attempt == 1 && landedSample != null
+                    ? landedSample : PerformanceCollector.measure(budget.getName());
+            if (Double.valueOf(1).equals(sample.get("softNavigation"))) {
+                reloadForMeasurement();
+                sample = PerformanceCollector.measure(budget.getName());
+            }
+            violations = budget.violations(sample);
+            if (violations.isEmpty()) {
+                logger.info(" Page [{}] within performance budget (attempt {}/{}).", budget.getName(), attempt, attempts);
+                return;
+            }
+            logger.warn(" Page [{}] over performance budget (attempt {}/{}): {}", budget.getName(), attempt, attempts, violations);
+            if (attempt < attempts) {
+                reloadForMeasurement();
+            }
+        }
+        throw new AssertionError("Performance budget exceeded on " + budget.getName() + " in all " + attempts
+                + " measurements; last one:\n  " + String.join("\n  ", violations));
+    }
+
+    private void reloadForMeasurement() {
+        Selenide.refresh();
+        waitUntilReady();
+        settleNetwork();
+    }
+
+    // A network that never goes idle costs the full timeout on every navigation, so make it visible
+    private void settleNetwork() {
+        if (!WaitUtil.waitForNetworkIdle()) {
+            logger.warn(" Page [{}] network still busy after the wait timeout; continuing.", this.getClass().getSimpleName());
+        }
+    }
+
+
+     // Returns the cached snapshot, re-capturing it if any action happened since it was taken.
+
+    @SuppressWarnings("unchecked")
+    protected <S> S cachedSnapshot(Supplier<S> capture) {
+        if (snapshot == null || snapshotEpoch != ActionEpoch.current()) {
+            snapshot = capture.get();
+            snapshotEpoch = ActionEpoch.current();
+        }
+        return (S) snapshot;
+    }
+
+
+     // Item at 'index' (taken from a snapshot) of the items matching 'itemSelector', checked to still be
+     // named 'name' in one script call before an action uses it. When the page changed behind the
+     // snapshot (e.g. re-sorted by a script), the snapshot is invalidated and the item found by its text.
+
+    protected SelenideElement verifiedItem(String itemSelector, String nameSelector, int index, String name) {
+        String actual = executeJavaScript(ITEM_NAME_SCRIPT, itemSelector, nameSelector, index);
+        if (name.equals(actual)) {
+            return $$(itemSelector).get(index);
+        }
+        logger.warn(" Page [{}] snapshot is stale: item {} is '{}', not '{}'; looking it up by text.",
+                this.getClass().getSimpleName(), index, actual, name);
+        ActionEpoch.bump();
+        return $$(itemSelector).findBy(Condition.text(name));
+    }
+
+
+     // Element behind a locator, reusing its resolved reference while the DOM is unchanged
+     // (plain locator when the element cache is off).
+
+    protected SelenideElement cached(SelenideElement locator) {
+        return elementCache.resolve(locator);
+    }
+
+
+     // Runs an action on the cached element, retrying once with a fresh lookup if it went stale.
+
+    protected void withCached(SelenideElement locator, Consumer<SelenideElement> action) {
+        elementCache.with(locator, action);
+    }
+
+
+     // Per-action logs are DEBUG and describe the element by its locator (getSearchCriteria), which is
+     // only evaluated when the line is actually logged and never queries the browser.
+
      // Click on an element.
 
-    @Step("Click element: {element}")
     protected void click(SelenideElement element) {
-        element.shouldBe(Condition.visible).click();
-        logger.info("Clicked element: {}", element);
+        step("Click element", element, null, () -> WaitUtil.waitForVisibility(element).click());
+        logger.atDebug().setMessage("Clicked element: {}").addArgument(element::getSearchCriteria).log();
     }
 
 
       // Type text into an input field.
 
-    @Step("Type '{text}' into element: {element}")
     protected void type(SelenideElement element, String text) {
-        element.shouldBe(Condition.visible).setValue(text);
-        logger.info("Typed '{}' into element: {}", text, element);
+        step("Type into element", element, text, () -> WaitUtil.waitForVisibility(element).setValue(text));
+        logger.atDebug().setMessage("Typed '{}' into element: {}").addArgument(text)
+                .addArgument(element::getSearchCriteria).log();
     }
 
 
      // Get text from an element.
 
-    @Step("Get text from element: {element}")
     protected String getText(SelenideElement element) {
-        String text = element.shouldBe(Condition.visible).getText();
-        logger.info("Got text '{}' from element: {}", text, element);
+        String text = step("Get text from element", element, null, () -> WaitUtil.waitForVisibility(element).getText());
+        logger.atDebug().setMessage("Got text '{}' from element: {}").addArgument(text)
+                .addArgument(element::getSearchCriteria).log();
         return text;
     }
 
 
      //  Check if the element is visible.
 
-    @Step("Check if element is visible: {element}")
     protected boolean isVisible(SelenideElement element) {
-        boolean visible = element.is(Condition.visible);
-        logger.info("Element {} visible: {}", element, visible);
+        boolean visible = step("Check if element is visible", element, null, () -> element.is(Condition.visible));
+        logger.atDebug().setMessage("Element {} visible: {}").addArgument(element::getSearchCriteria)
+                .addArgument(visible).log();
         return visible;
     }
 
 
      // Wait until the element is visible.
 
-    @Step("Wait for element to be visible: {element}")
     protected void waitForVisibility(SelenideElement element) {
-        element.shouldBe(Condition.visible);
-        logger.info("Waited until element {} is visible", element);
+        step("Wait for element to be visible", element, null, () -> WaitUtil.waitForVisibility(element));
+        logger.atDebug().setMessage("Waited until element {} is visible").addArgument(element::getSearchCriteria).log();
+    }
+
+
+     // Runs an action and records it with StepRecorder (buffered; an Allure step only if the test fails,
+     // or always with "steps.fullFidelity"). Page objects can use it for their own actions too.
+
+    protected <T> T step(String action, SelenideElement element, String argument, Supplier<T> body) {
+        long start = System.nanoTime();
+        try {
+            T result = body.get();
+            StepRecorder.record(action, element, argument, start, null);
+            return result;
+        } catch (RuntimeException | Error e) {
+            StepRecorder.record(action, element, argument, start, e);
+            throw e;
+        }
+    }
+
+    protected void step(String action, SelenideElement element, String argument, Runnable body) {
+        step(action, element, argument, () -> {
+            body.run();
+            return null;
+        });
     }
 }
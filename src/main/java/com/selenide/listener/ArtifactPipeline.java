@@ -0,0 +1,229 @@
+package com.selenide.listener;
+
+import com.selenide.utils.ConfigReader;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Attachment;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+ // ArtifactPipeline - writes failure artifacts off the test thread.
+ // The test thread only grabs the raw data (base64 screenshot, page source) and reserves the
+ // Allure attachment slots, so they stay linked to the failing test; decoding, the local copy
+ // and the attachment files are written by a small bounded executor. When the queue is full
+ // (mass failures) the test thread writes its own artifacts, which throttles it instead of
+ // piling up memory. Pending work is drained before the JVM exits.
+
+public final class ArtifactPipeline {
+
+    private static final ThreadPoolExecutor EXECUTOR = createExecutor();
+
+    // screenshot content hash -> Allure attachment source already holding that image
+    private static final Map<String, String> SCREENSHOTS_BY_HASH = new ConcurrentHashMap<>();
+    private static final ScreenshotStats STATS = new ScreenshotStats();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> drain(Duration.ofSeconds(30)), "artifact-pipeline-drain"));
+    }
+
+    private ArtifactPipeline() { /* utility class */ }
+
+    private static ThreadPoolExecutor createExecutor() {
+        int threads = ConfigReader.getInt("artifacts.threads", 2);
+        int queue = ConfigReader.getInt("artifacts.queue", 8);
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queue),
+                r -> {
+                    Thread t = new Thread(r, "artifact-writer-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+
+     // Must be called on the test thread: reserves both attachments in the current Allure test
+     // and hands the raw data to the executor. A screenshot identical to an earlier one (same
+     // SHA-256) is not written again; the new attachment points at the stored file.
+
+    public static void submit(String baseName, ScreenshotCapture.Screenshot screenshot, String pageSource) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String screenshotSource = null;
+        boolean newImage = false;
+        if (screenshot != null) {
+            String hash = sha256(screenshot.base64);
+            // Atomic: of two threads with identical bytes only the one that inserts the hash writes the file
+            String[] reserved = new String[1];
+            String stored = SCREENSHOTS_BY_HASH.computeIfAbsent(hash, h -> reserved[0] = lifecycle.prepareAttachment(
+                    baseName + screenshot.extension, screenshot.mimeType, screenshot.extension));
+            newImage = reserved[0] != null;
+            long bytes = screenshot.base64.length() * 3L / 4;
+            STATS.record(screenshot.latencyNanos, bytes, !newImage);
+            if (newImage) {
+                screenshotSource = stored;
+            } else {
+                String name = baseName + screenshot.extension;
+                lifecycle.updateTestCase(test -> test.getAttachments().add(new Attachment()
+                        .setName(name).setType(screenshot.mimeType).setSource(stored)));
+            }
+        }
+        String pageSourceSource = pageSource == null ? null
+                : lifecycle.prepareAttachment("PageSource_" + baseName + ".html", "text/html", ".html");
+
+        String imageSource = screenshotSource;
+        boolean writeImage = newImage;
+        EXECUTOR.execute(() -> {
+            if (writeImage) {
+                byte[] image = Base64.getDecoder().decode(screenshot.base64);
+                saveLocalCopy(baseName + screenshot.extension, image);
+                lifecycle.writeAttachment(imageSource, new ByteArrayInputStream(image));
+            }
+            if (pageSource != null) {
+                lifecycle.writeAttachment(pageSourceSource,
+                        new ByteArrayInputStream(pageSource.getBytes(StandardCharsets.UTF_8)));
+            }
+        });
+    }
+
+     // Attaches a text artifact to the current Allure test (reserved now, written in the background),
+     // optionally keeping a local copy.
+
+    public static void submitText(String name, String type, String extension, String content, Path localCopy) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String source = lifecycle.prepareAttachment(name, type, extension);
+        EXECUTOR.execute(() -> {
+            byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+            if (localCopy != null) {
+                try {
+                    Files.createDirectories(localCopy.getParent());
+                    Files.write(localCopy, bytes);
+                } catch (IOException e) {
+                    System.err.println("Failed to save " + localCopy + ": " + e.getMessage());
+                }
+            }
+            lifecycle.writeAttachment(source, new ByteArrayInputStream(bytes));
+        });
+    }
+
+     // Attaches an artifact whose bytes are produced (e.g. encoded) on the background executor.
+
+    public static void submitGenerated(String name, String type, String extension, Callable<byte[]> content) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String source = lifecycle.prepareAttachment(name, type, extension);
+        EXECUTOR.execute(() -> {
+            try {
+                lifecycle.writeAttachment(source, new ByteArrayInputStream(content.call()));
+            } catch (Exception e) {
+                System.err.println("Failed to produce attachment " + name + ": " + e.getMessage());
+            }
+        });
+    }
+
+     // Attaches a file from disk, streamed into the Allure results on the background executor.
+
+    public static void submitFile(String name, String type, String extension, Path file) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String source = lifecycle.prepareAttachment(name, type, extension);
+        EXECUTOR.execute(() -> {
+            try (InputStream in = Files.newInputStream(file)) {
+                lifecycle.writeAttachment(source, in);
+            } catch (IOException e) {
+                System.err.println("Failed to attach " + file + ": " + e.getMessage());
+            }
+        });
+    }
+
+    private static String sha256(String data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(data.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+
+     // e.g. "[Screenshots] captured=40 stored=3 duplicates=37 bytesSaved=5123 KB latency avg=38 ms max=95 ms"
+
+    public static String screenshotReport() {
+        return STATS.toString();
+    }
+
+    private static final class ScreenshotStats {
+        private long captured;
+        private long duplicates;
+        private long bytesSaved;
+        private long totalLatencyNanos;
+        private long maxLatencyNanos;
+
+        synchronized void record(long latencyNanos, long bytes, boolean duplicate) {
+            captured++;
+            totalLatencyNanos += latencyNanos;
+            maxLatencyNanos = Math.max(maxLatencyNanos, latencyNanos);
+            if (duplicate) {
+                duplicates++;
+                bytesSaved += bytes;
+            }
+        }
+
+        @Override
+        public synchronized String toString() {
+            return String.format("[Screenshots] captured=%d stored=%d duplicates=%d bytesSaved=%d KB latency avg=%d ms max=%d ms",
+                    captured, captured - duplicates, duplicates, bytesSaved / 1024,
+                    captured == 0 ? 0 : totalLatencyNanos / captured / 1_000_000, maxLatencyNanos / 1_000_000);
+        }
+    }
+
+    private static void saveLocalCopy(String fileName, byte[] bytes) {
+        File targetDir = new File("target/screenshots");
+        targetDir.mkdirs();
+        File targetFile = new File(targetDir, fileName);
+        try {
+            Files.write(targetFile.toPath(), bytes);
+            System.out.println("[TestListener] Screenshot saved: " + targetFile.getAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("Failed to save screenshot " + targetFile + ": " + e.getMessage());
+        }
+    }
+
+
+     // Waits for queued artifacts to be written; returns false if the timeout elapsed first.
+
+    public static boolean drain(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (EXECUTOR.getActiveCount() > 0 || !EXECUTOR.getQueue().isEmpty()) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,210 @@
+package com.selenide.listener;
+
+import com.codeborne.selenide.WebDriverRunner;
+import com.codeborne.selenide.logevents.LogEvent;
+import com.codeborne.selenide.logevents.LogEventListener;
+import com.codeborne.selenide.logevents.SelenideLogger;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.selenide.utils.ActionEpoch;
+import com.selenide.utils.ConfigReader;
+import org.openqa.selenium.JavascriptExecutor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+ // DomRecorder - records how the DOM changes during a test instead of dumping the full page source on failure.
+ // After every page-changing Selenide action the DOM is serialised as one line per node; the first snapshot
+ // of each page (URL path) is stored whole as a baseline, later ones only as a diff hunk against the previous
+ // snapshot of that page. The result is a compact JSONL event log from which rebuild() restores the DOM at any step.
+ // Enabled with config "domRecorder.enabled=true"; recording runs on the test thread between start() and stop().
+
+public final class DomRecorder {
+
+    private static final String LISTENER_NAME = "dom-recorder";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // One line per element / non-empty text node, indented by depth; script and style bodies are skipped
+    private static final String SERIALIZE_SCRIPT =
+            "var out = [];" +
+            "(function walk(node, depth) {" +
+            "  var pad = new Array(depth + 1).join('  ');" +
+            "  if (node.nodeType === 3) {" +
+            "    var t = node.nodeValue.trim(); if (t) out.push(pad + JSON.stringify(t.substring(0, 200)));" +
+            "    return;" +
+            "  }" +
+            "  if (node.nodeType !== 1) return;" +
+            "  var line = pad + '<' + node.tagName.toLowerCase();" +
+            "  for (var i = 0; i < node.attributes.length; i++) {" +
+            "    var a = node.attributes[i]; line += ' ' + a.name + '=' + JSON.stringify(a.value.substring(0, 200));" +
+            "  }" +
+            "  if ((node.tagName === 'INPUT' || node.tagName === 'TEXTAREA') && node.value) {" +
+            "    line += ' :value=' + JSON.stringify(node.value);" +
+            "  }" +
+            "  out.push(line + '>');" +
+            "  if (node.tagName === 'SCRIPT' || node.tagName === 'STYLE') return;" +
+            "  for (var c = node.firstChild; c; c = c.nextSibling) walk(c, depth + 1);" +
+            "})(document.documentElement, 0);" +
+            "return {page: location.pathname, dom: out.join('\\n')};";
+
+    private static final ThreadLocal<Recording> RECORDING = new ThreadLocal<>();
+
+    private DomRecorder() { /* utility class */ }
+
+    public static boolean isEnabled() {
+        return ConfigReader.getBoolean("domRecorder.enabled", false);
+    }
+
+    public static void start(String testName) {
+        if (!isEnabled()) {
+            return;
+        }
+        RECORDING.set(new Recording(testName));
+        if (!SelenideLogger.hasListener(LISTENER_NAME)) {
+            SelenideLogger.addListener(LISTENER_NAME, new Listener());
+        }
+    }
+
+    public static boolean isRecording() {
+        return RECORDING.get() != null;
+    }
+
+    // The event log of the current test as JSONL (null when not recording)
+    public static String eventLog() {
+        Recording recording = RECORDING.get();
+        return recording == null ? null : String.join("\n", recording.events) + "\n";
+    }
+
+    public static void stop() {
+        RECORDING.remove();
+    }
+
+
+    // Where a test's event log is stored locally
+    public static Path logFile(String testName) {
+        return Paths.get("target", "dom-recordings", testName.replaceAll("[^a-zA-Z0-9._-]", "_") + ".jsonl");
+    }
+
+
+     // Rebuilds the serialised DOM (one line per node) as it was after the given step of a saved log.
+
+    public static List<String> rebuild(Path eventLog, int step) throws IOException {
+        Map<String, List<String>> pages = new HashMap<>();
+        List<String> current = Collections.emptyList();
+        for (String line : Files.readAllLines(eventLog, StandardCharsets.UTF_8)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            JsonNode event = MAPPER.readTree(line);
+            if (event.get("step").asInt() > step) {
+                break;
+            }
+            String page = event.get("page").asText();
+            List<String> lines;
+            if ("baseline".equals(event.get("type").asText())) {
+                lines = new ArrayList<>();
+                event.get("lines").forEach(n -> lines.add(n.asText()));
+            } else {
+                lines = new ArrayList<>(pages.getOrDefault(page, Collections.emptyList()));
+                int start = event.get("start").asInt();
+                List<String> inserted = new ArrayList<>();
+                event.get("insert").forEach(n -> inserted.add(n.asText()));
+                lines.subList(start, start + event.get("delete").asInt()).clear();
+                lines.addAll(start, inserted);
+            }
+            pages.put(page, lines);
+            current = lines;
+        }
+        return current;
+    }
+
+    // Package-private so the baseline/diff encoding can be tested against rebuild() without a browser
+    static final class Recording {
+        private final String testName;
+        final List<String> events = new ArrayList<>();
+        private final Map<String, List<String>> lastByPage = new HashMap<>();
+        private int step;
+
+        Recording(String testName) {
+            this.testName = testName;
+        }
+
+        void record(String action) {
+            if (!WebDriverRunner.hasWebDriverStarted()) {
+                return;
+            }
+            @SuppressWarnings("unchecked")
+            Map<String, Object> snapshot = (Map<String, Object>) ((JavascriptExecutor) WebDriverRunner.getWebDriver())
+                    .executeScript(SERIALIZE_SCRIPT);
+            append(action, (String) snapshot.get("page"), Arrays.asList(((String) snapshot.get("dom")).split("\n", -1)));
+        }
+
+        // Logs the DOM after an action: whole for a page seen the first time, else as a diff hunk
+        void append(String action, String page, List<String> lines) {
+            List<String> previous = lastByPage.put(page, lines);
+
+            ObjectNode event = MAPPER.createObjectNode()
+                    .put("step", ++step)
+                    .put("action", action)
+                    .put("page", page);
+            if (previous == null) {
+                event.put("type", "baseline");
+                ArrayNode all = event.putArray("lines");
+                lines.forEach(all::add);
+            } else {
+                // one hunk: everything between the common prefix and the common suffix
+                int prefix = 0;
+                int max = Math.min(previous.size(), lines.size());
+                while (prefix < max && previous.get(prefix).equals(lines.get(prefix))) {
+                    prefix++;
+                }
+                int suffix = 0;
+                while (suffix < max - prefix
+                        && previous.get(previous.size() - 1 - suffix).equals(lines.get(lines.size() - 1 - suffix))) {
+                    suffix++;
+                }
+                if (prefix == previous.size() && prefix == lines.size()) {
+                    return; // no structural change, nothing to log
+                }
+                event.put("type", "diff")
+                        .put("start", prefix)
+                        .put("delete", previous.size() - prefix - suffix);
+                ArrayNode insert = event.putArray("insert");
+                lines.subList(prefix, lines.size() - suffix).forEach(insert::add);
+            }
+            events.add(event.toString());
+        }
+    }
+
+    private static final class Listener implements LogEventListener {
+        @Override
+        public void beforeEvent(LogEvent event) {
+        }
+
+        @Override
+        public void afterEvent(LogEvent event) {
+            Recording recording = RECORDING.get();
+            if (recording == null || !ActionEpoch.isMutating(event.getElement(), event.getSubject())) {
+                return;
+            }
+            try {
+                recording.record(event.getElement() + " " + event.getSubject());
+            } catch (RuntimeException e) {
+                // e.g. the page is mid-navigation; the next action records the new state
+                System.err.println("[DomRecorder] Could not record DOM: " + e.getMessage());
+            }
+        }
+    }
+}
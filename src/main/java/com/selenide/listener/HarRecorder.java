@@ -0,0 +1,359 @@
+package com.selenide.listener;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.selenide.utils.ConfigReader;
+import com.selenide.utils.DevToolsSupport;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.DevTools;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+
+ // HarRecorder - streams a test's network traffic to target/har/<test>.har (HAR 1.2) from CDP Network events.
+ // Only in-flight requests are held in memory: each entry is written with a Jackson JsonGenerator as soon as
+ // its request finishes, on a per-test writer thread that also fetches response bodies (Network.getResponseBody)
+ // so CDP event handling never blocks. The file is capped at "har.maxBytes"; later entries are counted, not written.
+ // Bodies are captured only for MIME types matching "har.bodyMimeTypes" and up to "har.maxBodyBytes" each.
+
+public final class HarRecorder {
+
+    // One CDP subscription per browser session, routed to whichever recording is active
+    private static final Map<WebDriver, HarRecorder> RECORDERS = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final DevTools devTools;
+    private volatile Recording active;
+
+    private HarRecorder(DevTools devTools) {
+        this.devTools = devTools;
+    }
+
+    public static boolean isEnabled() {
+        return ConfigReader.getBoolean("har.enabled", false);
+    }
+
+
+     // Starts recording the current test. 'bodyMimeTypes' overrides the configured body filter when not empty.
+     // No-op when the browser has no CDP, or when this test is already being recorded.
+
+    public static void start(String testName, String bodyMimeTypes, boolean attachAlways) {
+        Recording current = CURRENT.get();
+        if (current != null) {
+            if (current.testName.equals(testName)) {
+                return;
+            }
+            // left over from a test that never reached finish(): close its file and writer thread
+            finish(false);
+        }
+        Optional<DevTools> devTools = DevToolsSupport.devTools();
+        if (devTools.isEmpty()) {
+            return;
+        }
+        HarRecorder recorder = RECORDERS.computeIfAbsent(DevToolsSupport.currentDriver(), d -> install(devTools.get()));
+        String filter = bodyMimeTypes.isEmpty() ? ConfigReader.get("har.bodyMimeTypes", "json|html|text/plain") : bodyMimeTypes;
+        try {
+            Recording recording = new Recording(recorder.devTools, testName, Pattern.compile(filter), attachAlways);
+            recorder.active = recording;
+            CURRENT.set(recording);
+        } catch (IOException e) {
+            System.err.println("[HarRecorder] Could not start HAR for " + testName + ": " + e.getMessage());
+        }
+    }
+
+
+     // Ends the current recording: attaches the HAR if the test failed or attaching was requested,
+     // otherwise deletes the file.
+
+    public static void finish(boolean failed) {
+        Recording recording = CURRENT.get();
+        if (recording == null) {
+            return;
+        }
+        CURRENT.remove();
+        RECORDERS.values().forEach(r -> {
+            if (r.active == recording) {
+                r.active = null;
+            }
+        });
+        Path file = recording.close();
+        if (file == null) {
+            return;
+        }
+        if (failed || recording.attachAlways) {
+            ArtifactPipeline.submitFile("Network_" + file.getFileName(), "application/json", ".har", file);
+        } else {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                System.err.println("[HarRecorder] Could not delete " + file + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private static HarRecorder install(DevTools devTools) {
+        HarRecorder recorder = new HarRecorder(devTools);
+        devTools.send(DevToolsSupport.command("Network.enable", Map.of()));
+        devTools.addListener(DevToolsSupport.event("Network.requestWillBeSent"), e -> recorder.dispatch(r -> r.requestSent(e)));
+        devTools.addListener(DevToolsSupport.event("Network.responseReceived"), e -> recorder.dispatch(r -> r.responseReceived(e)));
+        devTools.addListener(DevToolsSupport.event("Network.loadingFinished"), e -> recorder.dispatch(r -> r.finished(e, null)));
+        devTools.addListener(DevToolsSupport.event("Network.loadingFailed"),
+                e -> recorder.dispatch(r -> r.finished(e, String.valueOf(e.get("errorText")))));
+        return recorder;
+    }
+
+    private void dispatch(Consumer<Recording> handler) {
+        Recording recording = active;
+        if (recording != null) {
+            handler.accept(recording);
+        }
+    }
+
+    private static final class Recording {
+        private final DevTools devTools;
+        private final String testName;
+        private final Path file;
+        private final JsonGenerator json;
+        private final Pattern bodyFilter;
+        private final boolean attachAlways;
+        private final long maxBytes = ConfigReader.getInt("har.maxBytes", 50 * 1024 * 1024);
+        private final int maxBodyBytes = ConfigReader.getInt("har.maxBodyBytes", 64 * 1024);
+        private final ExecutorService writer;
+        private final Map<String, Map<String, Object>> requests = new ConcurrentHashMap<>();
+        private final Map<String, Map<String, Object>> responses = new ConcurrentHashMap<>();
+        private int dropped;
+
+        Recording(DevTools devTools, String testName, Pattern bodyFilter, boolean attachAlways) throws IOException {
+            this.devTools = devTools;
+            this.testName = testName;
+            this.bodyFilter = bodyFilter;
+            this.attachAlways = attachAlways;
+            Path dir = Paths.get("target", "har");
+            Files.createDirectories(dir);
+            this.file = dir.resolve(testName.replaceAll("[^a-zA-Z0-9._-]", "_") + ".har");
+            this.json = JSON.createGenerator(file.toFile(), JsonEncoding.UTF8);
+            this.writer = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "har-writer");
+                t.setDaemon(true);
+                return t;
+            });
+            json.writeStartObject();
+            json.writeObjectFieldStart("log");
+            json.writeStringField("version", "1.2");
+            json.writeObjectFieldStart("creator");
+            json.writeStringField("name", "SwagLabsWithSelenide");
+            json.writeStringField("version", "1.0");
+            json.writeEndObject();
+            json.writeArrayFieldStart("entries");
+        }
+
+        void requestSent(Map<String, Object> event) {
+            requests.put(String.valueOf(event.get("requestId")), event);
+        }
+
+        void responseReceived(Map<String, Object> event) {
+            responses.put(String.valueOf(event.get("requestId")), event);
+        }
+
+        void finished(Map<String, Object> event, String error) {
+            String id = String.valueOf(event.get("requestId"));
+            Map<String, Object> request = requests.remove(id);
+            Map<String, Object> response = responses.remove(id);
+            if (request == null) {
+                return;
+            }
+            writer.execute(() -> writeEntry(id, request, response, event, error));
+        }
+
+        @SuppressWarnings("unchecked")
+        private void writeEntry(String id, Map<String, Object> sent, Map<String, Object> received,
+                                Map<String, Object> finished, String error) {
+            try {
+                if (Files.size(file) + json.getOutputBuffered() > maxBytes) {
+                    dropped++;
+                    return;
+                }
+                Map<String, Object> request = (Map<String, Object>) sent.get("request");
+                Map<String, Object> response = received == null ? Map.of() : (Map<String, Object>) received.get("response");
+                double started = number(sent.get("timestamp"));
+                double ended = number(finished.get("timestamp"));
+
+                // Built aside and copied only when complete: a failure midway must not leave the file in an open object
+                TokenBuffer out = new TokenBuffer(null, false);
+                out.writeStartObject();
+                out.writeStringField("startedDateTime",
+                        Instant.ofEpochMilli((long) (number(sent.get("wallTime")) * 1000)).toString());
+                out.writeNumberField("time", Math.max(0, (ended - started) * 1000));
+
+                out.writeObjectFieldStart("request");
+                out.writeStringField("method", String.valueOf(request.get("method")));
+                out.writeStringField("url", String.valueOf(request.get("url")));
+                out.writeStringField("httpVersion", String.valueOf(response.getOrDefault("protocol", "")));
+                writeHeaders(out, (Map<String, Object>) request.get("headers"));
+                writeQueryString(out, String.valueOf(request.get("url")));
+                out.writeArrayFieldStart("cookies");
+                out.writeEndArray();
+                out.writeNumberField("headersSize", -1);
+                Object postData = request.get("postData");
+                out.writeNumberField("bodySize", postData == null ? 0 : String.valueOf(postData).length());
+                if (postData != null) {
+                    out.writeObjectFieldStart("postData");
+                    out.writeStringField("mimeType", String.valueOf(((Map<String, Object>) request.get("headers"))
+                            .getOrDefault("Content-Type", "")));
+                    out.writeStringField("text", String.valueOf(postData));
+                    out.writeEndObject();
+                }
+                out.writeEndObject();
+
+                String mimeType = String.valueOf(response.getOrDefault("mimeType", ""));
+                double encoded = number(finished.get("encodedDataLength"));
+                out.writeObjectFieldStart("response");
+                out.writeNumberField("status", (int) number(response.get("status")));
+                out.writeStringField("statusText", error != null ? error : String.valueOf(response.getOrDefault("statusText", "")));
+                out.writeStringField("httpVersion", String.valueOf(response.getOrDefault("protocol", "")));
+                writeHeaders(out, (Map<String, Object>) response.get("headers"));
+                out.writeArrayFieldStart("cookies");
+                out.writeEndArray();
+                out.writeObjectFieldStart("content");
+                out.writeNumberField("size", (long) encoded);
+                out.writeStringField("mimeType", mimeType);
+                if (error == null && bodyFilter.matcher(mimeType).find()) {
+                    writeBody(out, id);
+                }
+                out.writeEndObject();
+                out.writeStringField("redirectURL", "");
+                out.writeNumberField("headersSize", -1);
+                out.writeNumberField("bodySize", (long) encoded);
+                out.writeEndObject();
+
+                out.writeObjectFieldStart("cache");
+                out.writeEndObject();
+                writeTimings(out, (Map<String, Object>) response.get("timing"), (ended - started) * 1000);
+                out.writeEndObject();
+                out.serialize(json);
+            } catch (IOException | RuntimeException e) {
+                System.err.println("[HarRecorder] Could not write HAR entry: " + e.getMessage());
+            }
+        }
+
+        private void writeBody(JsonGenerator out, String requestId) throws IOException {
+            try {
+                Map<String, Object> body = devTools.send(DevToolsSupport.command("Network.getResponseBody",
+                        Map.of("requestId", requestId)));
+                String text = String.valueOf(body.get("body"));
+                if (text.length() > maxBodyBytes) {
+                    out.writeStringField("comment", "body truncated to " + maxBodyBytes + " chars");
+                    text = text.substring(0, maxBodyBytes);
+                }
+                out.writeStringField("text", text);
+                if (Boolean.TRUE.equals(body.get("base64Encoded"))) {
+                    out.writeStringField("encoding", "base64");
+                }
+            } catch (RuntimeException e) {
+                // body evicted or not available (redirects, cached responses)
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void writeHeaders(JsonGenerator out, Map<String, Object> headers) throws IOException {
+            out.writeArrayFieldStart("headers");
+            if (headers != null) {
+                for (Map.Entry<String, Object> header : headers.entrySet()) {
+                    out.writeStartObject();
+                    out.writeStringField("name", header.getKey());
+                    out.writeStringField("value", String.valueOf(header.getValue()));
+                    out.writeEndObject();
+                }
+            }
+            out.writeEndArray();
+        }
+
+        private void writeQueryString(JsonGenerator out, String url) throws IOException {
+            out.writeArrayFieldStart("queryString");
+            String query = null;
+            try {
+                query = URI.create(url).getRawQuery();
+            } catch (IllegalArgumentException e) {
+                // data: URLs and the like
+            }
+            if (query != null) {
+                for (String pair : query.split("&")) {
+                    int eq = pair.indexOf('=');
+                    out.writeStartObject();
+                    out.writeStringField("name", eq < 0 ? pair : pair.substring(0, eq));
+                    out.writeStringField("value", eq < 0 ? "" : pair.substring(eq + 1));
+                    out.writeEndObject();
+                }
+            }
+            out.writeEndArray();
+        }
+
+        // HAR timings from CDP ResourceTiming (ms relative to requestTime)
+        private void writeTimings(JsonGenerator out, Map<String, Object> timing, double total) throws IOException {
+            out.writeObjectFieldStart("timings");
+            if (timing == null) {
+                out.writeNumberField("send", 0);
+                out.writeNumberField("wait", Math.max(0, total));
+                out.writeNumberField("receive", 0);
+            } else {
+                double sendStart = number(timing.get("sendStart"));
+                double sendEnd = number(timing.get("sendEnd"));
+                double headersEnd = number(timing.get("receiveHeadersEnd"));
+                out.writeNumberField("send", Math.max(0, sendEnd - sendStart));
+                out.writeNumberField("wait", Math.max(0, headersEnd - sendEnd));
+                out.writeNumberField("receive", Math.max(0, total - headersEnd));
+            }
+            out.writeEndObject();
+        }
+
+        private static double number(Object value) {
+            return value instanceof Number ? ((Number) value).doubleValue() : 0;
+        }
+
+        // Finishes the JSON document after the queued entries are written; returns the file (null on error)
+        Path close() {
+            writer.execute(() -> {
+                try {
+                    json.writeEndArray();
+                    if (dropped > 0) {
+                        json.writeStringField("comment", dropped + " entries dropped: HAR size cap of " + maxBytes + " bytes reached");
+                    }
+                    json.writeEndObject();
+                    json.writeEndObject();
+                    json.close();
+                } catch (IOException e) {
+                    System.err.println("[HarRecorder] Could not finish " + file + ": " + e.getMessage());
+                }
+            });
+            writer.shutdown();
+            try {
+                if (!writer.awaitTermination(30, TimeUnit.SECONDS)) {
+                    System.err.println("[HarRecorder] Timed out finishing " + file);
+                    return null;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            return file;
+        }
+    }
+}
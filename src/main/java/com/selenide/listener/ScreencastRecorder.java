@@ -0,0 +1,255 @@
+package com.selenide.listener;
+
+import com.selenide.utils.ConfigReader;
+import com.selenide.utils.DevToolsSupport;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.DevTools;
+import org.w3c.dom.Node;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+
+ // ScreencastRecorder - keeps the last seconds of the browser screen in memory, from CDP Page.screencastFrame
+ // events, and turns them into an animated GIF only when a test fails. Frames are decoded into a fixed ring of
+ // byte buffers that are reused (grown only when a frame is larger), so apart from the event CDP hands over,
+ // passing tests cost no allocations per frame and no disk I/O: their buffer is simply reset.
+ // The ring holds screencast.seconds x screencast.fps frames; Chrome is asked for every Nth frame so that its
+ // ~60 fps compositor is throttled to about screencast.fps.
+ // Config: screencast.enabled (default false), screencast.seconds (clip length, default 10),
+ // screencast.fps (default 15), screencast.quality / screencast.maxWidth / screencast.maxHeight (JPEG frames).
+
+public final class ScreencastRecorder {
+
+    private static final ThreadLocal<ScreencastRecorder> CURRENT = new ThreadLocal<>();
+    private static final int COMPOSITOR_FPS = 60;
+    private static final byte[] BASE64_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(BASE64_VALUES, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64_VALUES[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    private final WebDriver driver;
+    private final DevTools devTools;
+    private final byte[][] frames;
+    private final int[] lengths;
+    private final double[] timestamps;
+    private int next;
+    private int count;
+
+    private ScreencastRecorder(WebDriver driver, DevTools devTools, int capacity) {
+        this.driver = driver;
+        this.devTools = devTools;
+        this.frames = new byte[capacity][];
+        this.lengths = new int[capacity];
+        this.timestamps = new double[capacity];
+    }
+
+    public static boolean isEnabled() {
+        return ConfigReader.getBoolean("screencast.enabled", false);
+    }
+
+
+     // Starts recording for the current test: reuses the session's recorder (clearing its ring)
+     // or starts a screencast when the browser session is new. No-op without CDP.
+
+    public static void begin() {
+        if (!isEnabled()) {
+            return;
+        }
+        Optional<DevTools> devTools = DevToolsSupport.devTools();
+        if (devTools.isEmpty()) {
+            return;
+        }
+        WebDriver driver = DevToolsSupport.currentDriver();
+        ScreencastRecorder recorder = CURRENT.get();
+        if (recorder == null || recorder.driver != driver) {
+            recorder = new ScreencastRecorder(driver, devTools.get(), clipSeconds() * fps());
+            recorder.start();
+            CURRENT.set(recorder);
+        }
+        recorder.reset();
+    }
+
+    private static int clipSeconds() {
+        return Math.max(1, ConfigReader.getInt("screencast.seconds", 10));
+    }
+
+    private static int fps() {
+        return Math.max(1, Math.min(COMPOSITOR_FPS, ConfigReader.getInt("screencast.fps", 15)));
+    }
+
+    // Passing test: drop the frames, nothing is written
+    public static void discard() {
+        ScreencastRecorder recorder = CURRENT.get();
+        if (recorder != null) {
+            recorder.reset();
+        }
+    }
+
+
+     // Failed test: copies the last frames and attaches them as an animated GIF
+     // (encoded on the artifact pipeline, off the test thread).
+
+    public static void attachOnFailure(String testName) {
+        ScreencastRecorder recorder = CURRENT.get();
+        if (recorder == null) {
+            return;
+        }
+        List<byte[]> clip = new ArrayList<>();
+        List<Integer> delays = new ArrayList<>();
+        recorder.copyClip(clipSeconds(), clip, delays);
+        recorder.reset();
+        if (clip.isEmpty()) {
+            return;
+        }
+        ArtifactPipeline.submitGenerated("Screencast_" + testName + ".gif", "image/gif", ".gif",
+                () -> encodeGif(clip, delays));
+    }
+
+    private void start() {
+        Map<String, Object> params = Map.of(
+                "format", "jpeg",
+                "quality", ConfigReader.getInt("screencast.quality", 50),
+                "maxWidth", ConfigReader.getInt("screencast.maxWidth", 960),
+                "maxHeight", ConfigReader.getInt("screencast.maxHeight", 720),
+                "everyNthFrame", COMPOSITOR_FPS / fps());
+        devTools.addListener(DevToolsSupport.event("Page.screencastFrame"), this::onFrame);
+        devTools.send(DevToolsSupport.command("Page.startScreencast", params));
+    }
+
+    private void onFrame(Map<String, Object> frame) {
+        String data = (String) frame.get("data");
+        Object metadata = frame.get("metadata");
+        Object timestamp = metadata instanceof Map ? ((Map<?, ?>) metadata).get("timestamp") : null;
+        synchronized (this) {
+            int decodedMax = data.length() / 4 * 3;
+            if (frames[next] == null || frames[next].length < decodedMax) {
+                frames[next] = new byte[decodedMax];
+            }
+            lengths[next] = decodeBase64(data, frames[next]);
+            timestamps[next] = timestamp instanceof Number ? ((Number) timestamp).doubleValue() : System.nanoTime() / 1e9;
+            next = (next + 1) % frames.length;
+            count = Math.min(count + 1, frames.length);
+        }
+        try {
+            devTools.send(DevToolsSupport.command("Page.screencastFrameAck", Map.of("sessionId", frame.get("sessionId"))));
+        } catch (RuntimeException e) {
+            // session closed while the frame was in flight
+        }
+    }
+
+    // Decodes straight from the event's string into the slot: Base64.Decoder needs the text as a fresh byte[]
+    private static int decodeBase64(String data, byte[] target) {
+        int bits = 0;
+        int pending = 0;
+        int length = 0;
+        for (int i = 0; i < data.length(); i++) {
+            char c = data.charAt(i);
+            int value = c < BASE64_VALUES.length ? BASE64_VALUES[c] : -1;
+            if (value < 0) {
+                continue; // padding or line breaks
+            }
+            bits = (bits << 6) | value;
+            pending += 6;
+            if (pending >= 8) {
+                pending -= 8;
+                target[length++] = (byte) (bits >> pending);
+            }
+        }
+        return length;
+    }
+
+    private synchronized void reset() {
+        count = 0;
+    }
+
+    // Copies the frames of the last 'seconds' (oldest first) with per-frame delays in centiseconds
+    private synchronized void copyClip(int seconds, List<byte[]> clip, List<Integer> delays) {
+        int first = (next - count + frames.length) % frames.length;
+        double newest = count == 0 ? 0 : timestamps[(next - 1 + frames.length) % frames.length];
+        for (int i = 0; i < count; i++) {
+            int slot = (first + i) % frames.length;
+            if (newest - timestamps[slot] > seconds) {
+                continue;
+            }
+            int nextSlot = (slot + 1) % frames.length;
+            double delay = i + 1 < count ? timestamps[nextSlot] - timestamps[slot] : 1.0;
+            clip.add(Arrays.copyOf(frames[slot], lengths[slot]));
+            delays.add((int) Math.max(2, Math.round(delay * 100)));
+        }
+    }
+
+    private static byte[] encodeGif(List<byte[]> jpegFrames, List<Integer> delays) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("gif").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(stream);
+            writer.prepareWriteSequence(null);
+            for (int i = 0; i < jpegFrames.size(); i++) {
+                BufferedImage image = ImageIO.read(new ByteArrayInputStream(jpegFrames.get(i)));
+                if (image == null) {
+                    continue;
+                }
+                IIOMetadata metadata = writer.getDefaultImageMetadata(ImageTypeSpecifier.createFromRenderedImage(image), null);
+                configureFrame(metadata, delays.get(i), i == 0);
+                writer.writeToSequence(new IIOImage(image, null, metadata), null);
+            }
+            writer.endWriteSequence();
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static void configureFrame(IIOMetadata metadata, int delayCentis, boolean first) throws IOException {
+        String format = metadata.getNativeMetadataFormatName();
+        IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree(format);
+
+        IIOMetadataNode control = child(root, "GraphicControlExtension");
+        control.setAttribute("disposalMethod", "none");
+        control.setAttribute("userInputFlag", "FALSE");
+        control.setAttribute("transparentColorFlag", "FALSE");
+        control.setAttribute("delayTime", Integer.toString(delayCentis));
+        control.setAttribute("transparentColorIndex", "0");
+
+        if (first) {
+            // loop forever
+            IIOMetadataNode app = new IIOMetadataNode("ApplicationExtension");
+            app.setAttribute("applicationID", "NETSCAPE");
+            app.setAttribute("authenticationCode", "2.0");
+            app.setUserObject(new byte[] {1, 0, 0});
+            child(root, "ApplicationExtensions").appendChild(app);
+        }
+        metadata.setFromTree(format, root);
+    }
+
+    private static IIOMetadataNode child(IIOMetadataNode root, String name) {
+        for (Node node = root.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node.getNodeName().equalsIgnoreCase(name)) {
+                return (IIOMetadataNode) node;
+            }
+        }
+        IIOMetadataNode node = new IIOMetadataNode(name);
+        root.appendChild(node);
+        return node;
+    }
+}
@@ -0,0 +1,82 @@
+package com.selenide.listener;
+
+import com.codeborne.selenide.WebDriverRunner;
+import com.selenide.utils.ConfigReader;
+import com.selenide.utils.DevToolsSupport;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.devtools.DevTools;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.codeborne.selenide.Selenide.executeJavaScript;
+
+
+ // ScreenshotCapture - takes failure screenshots through CDP Page.captureScreenshot, which can
+ // encode JPEG/WebP at a chosen quality and clip to one element, instead of a full-size PNG.
+ // Config: screenshot.format (png | jpeg | webp, default png), screenshot.quality (0-100, default 80,
+ // jpeg/webp only), screenshot.clip (CSS selector of the element to capture; empty = viewport).
+ // Falls back to TakesScreenshot (PNG) on browsers without CDP.
+
+public final class ScreenshotCapture {
+
+    private static final String CLIP_SCRIPT =
+            "var e = document.querySelector(arguments[0]); if (!e) return null;" +
+            "var r = e.getBoundingClientRect();" +
+            "return [r.left + window.scrollX, r.top + window.scrollY, r.width, r.height];";
+
+    private ScreenshotCapture() { /* utility class */ }
+
+    // A captured image: base64 data as returned by the browser, plus its type
+    public static final class Screenshot {
+        final String base64;
+        final String mimeType;
+        final String extension;
+        final long latencyNanos;
+
+        Screenshot(String base64, String format, long latencyNanos) {
+            this.base64 = base64;
+            this.mimeType = "image/" + format;
+            this.extension = "." + format;
+            this.latencyNanos = latencyNanos;
+        }
+    }
+
+    public static Screenshot capture() {
+        long start = System.nanoTime();
+        String format = ConfigReader.get("screenshot.format", "png").trim().toLowerCase();
+        Optional<DevTools> devTools = DevToolsSupport.devTools();
+        if (devTools.isPresent()) {
+            try {
+                Map<String, Object> result = devTools.get()
+                        .send(DevToolsSupport.command("Page.captureScreenshot", captureParams(format)));
+                return new Screenshot((String) result.get("data"), format, System.nanoTime() - start);
+            } catch (RuntimeException e) {
+                System.err.println("[ScreenshotCapture] CDP capture failed, using WebDriver screenshot: " + e.getMessage());
+            }
+        }
+        String png = ((TakesScreenshot) WebDriverRunner.getWebDriver()).getScreenshotAs(OutputType.BASE64);
+        return new Screenshot(png, "png", System.nanoTime() - start);
+    }
+
+    private static Map<String, Object> captureParams(String format) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("format", format);
+        if (!"png".equals(format)) {
+            params.put("quality", ConfigReader.getInt("screenshot.quality", 80));
+        }
+        String clipSelector = ConfigReader.get("screenshot.clip", "").trim();
+        if (!clipSelector.isEmpty()) {
+            List<Number> rect = executeJavaScript(CLIP_SCRIPT, clipSelector);
+            if (rect != null) {
+                params.put("clip", Map.of("x", rect.get(0), "y", rect.get(1),
+                        "width", rect.get(2), "height", rect.get(3), "scale", 1));
+                params.put("captureBeyondViewport", true);
+            }
+        }
+        return params;
+    }
+}
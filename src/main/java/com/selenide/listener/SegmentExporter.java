@@ -0,0 +1,126 @@
+package com.selenide.listener;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+
+ // SegmentExporter - unpacks the segment files of SegmentResultsWriter into the standard allure-results layout.
+ // Export is incremental: the byte offset reached in each segment is kept in "export.offsets", so repeated runs
+ // (also while the suite is still writing) only unpack new, complete records. Files are moved into place
+ // atomically, so a concurrent "allure generate" never reads a half-written result.
+ // Standalone: java -cp <test classpath> com.selenide.listener.SegmentExporter [segmentsDir] [resultsDir]
+
+public final class SegmentExporter {
+
+    private static final String OFFSETS_FILE = "export.offsets";
+
+    private SegmentExporter() { /* utility class */ }
+
+    public static void main(String[] args) throws IOException {
+        Path segments = Paths.get(args.length > 0 ? args[0] : "target/allure-segments");
+        Path results = Paths.get(args.length > 1 ? args[1] : "allure-results");
+        System.out.println("Exported " + export(segments, results) + " files to " + results.toAbsolutePath());
+    }
+
+
+     // Exports all complete records not exported before; returns the number of files written.
+
+    public static synchronized int export(Path segmentsDir, Path resultsDir) throws IOException {
+        if (!Files.isDirectory(segmentsDir)) {
+            return 0;
+        }
+        Files.createDirectories(resultsDir);
+        Path offsetsFile = segmentsDir.resolve(OFFSETS_FILE);
+        Properties offsets = new Properties();
+        if (Files.exists(offsetsFile)) {
+            try (InputStream in = Files.newInputStream(offsetsFile)) {
+                offsets.load(in);
+            }
+        }
+
+        int exported = 0;
+        for (Path segment : segments(segmentsDir)) {
+            String key = segment.getFileName().toString();
+            long offset = Long.parseLong(offsets.getProperty(key, "0"));
+            if (offset >= Files.size(segment)) {
+                continue;
+            }
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(segment), 1 << 16)) {
+                in.skipNBytes(offset);
+                while (true) {
+                    Long next = exportRecord(in, offset, resultsDir);
+                    if (next == null) {
+                        break;
+                    }
+                    offset = next;
+                    exported++;
+                }
+            }
+            offsets.setProperty(key, String.valueOf(offset));
+        }
+
+        Path tmp = segmentsDir.resolve(OFFSETS_FILE + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            offsets.store(out, "bytes of each segment already exported");
+        }
+        Files.move(tmp, offsetsFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return exported;
+    }
+
+    private static List<Path> segments(Path segmentsDir) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(segmentsDir, "segment-*.seg")) {
+            stream.forEach(segments::add);
+        }
+        Collections.sort(segments);
+        return segments;
+    }
+
+    // Reads one record at 'offset' and writes its file; returns the next offset, or null if the record is incomplete
+    private static Long exportRecord(InputStream in, long offset, Path resultsDir) throws IOException {
+        String header = readLine(in);
+        if (header == null) {
+            return null;
+        }
+        String[] parts = header.split(" ", 3);
+        int length = Integer.parseInt(parts[1]);
+        byte[] data = in.readNBytes(length + 1);
+        if (data.length < length + 1) {
+            // still being written
+            return null;
+        }
+        Path target = resultsDir.resolve(parts[2]);
+        Path tmp = resultsDir.resolve(parts[2] + ".part");
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            out.write(data, 0, length);
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return offset + header.getBytes(StandardCharsets.UTF_8).length + 1 + length + 1;
+    }
+
+    // Header line without its "\n"; null at end of data or when the line is not complete yet
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(128);
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') {
+                return line.toString(StandardCharsets.UTF_8);
+            }
+            line.write(b);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,155 @@
+package com.selenide.listener;
+
+import com.selenide.utils.ConfigReader;
+import io.qameta.allure.AllureResultsWriteException;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.internal.Allure2ModelJackson;
+import io.qameta.allure.internal.shadowed.jackson.databind.ObjectMapper;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+
+ // SegmentResultsWriter - Allure results sink that appends results, containers and attachments to a few
+ // large segment files instead of one small file each. Every record is "<kind> <length> <file name>\n",
+ // the raw bytes and "\n"; kinds are R (result), C (container) and A (attachment). Segments roll over at
+ // "allure.segments.maxBytes". SegmentExporter turns them into the standard allure-results layout, either
+ // periodically while the suite runs ("allure.segments.exportIntervalSeconds" > 0) so report generation can
+ // start early, and always once more on close().
+ // Enabled with "allure.segments=true" (installed before the Allure JUnit listener starts).
+
+public final class SegmentResultsWriter implements AllureResultsWriter, AutoCloseable {
+
+    private final ObjectMapper mapper = Allure2ModelJackson.createMapper();
+    private final Path segmentsDir;
+    private final Path resultsDir;
+    private final long maxSegmentBytes;
+    private final ScheduledExecutorService exporter;
+    private OutputStream out;
+    private long segmentBytes;
+    private int segmentIndex;
+
+    public SegmentResultsWriter(Path segmentsDir, Path resultsDir, long maxSegmentBytes, int exportIntervalSeconds) {
+        this.segmentsDir = segmentsDir;
+        this.resultsDir = resultsDir;
+        this.maxSegmentBytes = maxSegmentBytes;
+        if (exportIntervalSeconds > 0) {
+            exporter = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "allure-segment-exporter");
+                t.setDaemon(true);
+                return t;
+            });
+            exporter.scheduleWithFixedDelay(this::exportQuietly, exportIntervalSeconds, exportIntervalSeconds, TimeUnit.SECONDS);
+        } else {
+            exporter = null;
+        }
+    }
+
+    public static boolean isEnabled() {
+        return ConfigReader.getBoolean("allure.segments", false);
+    }
+
+    // Writer configured from config.properties; results go where Allure would have put them
+    public static SegmentResultsWriter fromConfig() {
+        return new SegmentResultsWriter(
+                Paths.get(ConfigReader.get("allure.segments.dir", "target/allure-segments")),
+                Paths.get(System.getProperty("allure.results.directory", "allure-results")),
+                Long.parseLong(ConfigReader.get("allure.segments.maxBytes", String.valueOf(64L * 1024 * 1024))),
+                ConfigReader.getInt("allure.segments.exportIntervalSeconds", 0));
+    }
+
+    @Override
+    public void write(TestResult testResult) {
+        String name = testResult.getUuid() + "-result.json";
+        append('R', name, serialize(testResult, name));
+    }
+
+    @Override
+    public void write(TestResultContainer container) {
+        String name = container.getUuid() + "-container.json";
+        append('C', name, serialize(container, name));
+    }
+
+    @Override
+    public void write(String source, InputStream attachment) {
+        try (InputStream in = attachment) {
+            append('A', source, in.readAllBytes());
+        } catch (IOException e) {
+            throw new AllureResultsWriteException("Could not write Allure attachment " + source, e);
+        }
+    }
+
+    private byte[] serialize(Object value, String name) {
+        try {
+            return mapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new AllureResultsWriteException("Could not write Allure result " + name, e);
+        }
+    }
+
+    private synchronized void append(char kind, String name, byte[] data) {
+        try {
+            if (out == null || segmentBytes >= maxSegmentBytes) {
+                openNextSegment();
+            }
+            byte[] header = (kind + " " + data.length + " " + name + "\n").getBytes(StandardCharsets.UTF_8);
+            out.write(header);
+            out.write(data);
+            out.write('\n');
+            // complete records only become visible to the exporter once flushed
+            out.flush();
+            segmentBytes += header.length + data.length + 1;
+        } catch (IOException e) {
+            throw new AllureResultsWriteException("Could not append " + name + " to Allure segment", e);
+        }
+    }
+
+    private void openNextSegment() throws IOException {
+        if (out != null) {
+            out.close();
+        }
+        Files.createDirectories(segmentsDir);
+        Path segment;
+        do {
+            segment = segmentsDir.resolve(String.format("segment-%05d.seg", segmentIndex++));
+        } while (Files.exists(segment));
+        out = new BufferedOutputStream(Files.newOutputStream(segment, StandardOpenOption.CREATE_NEW), 1 << 16);
+        segmentBytes = 0;
+    }
+
+    private void exportQuietly() {
+        try {
+            SegmentExporter.export(segmentsDir, resultsDir);
+        } catch (IOException e) {
+            System.err.println("[SegmentResultsWriter] Incremental export failed: " + e.getMessage());
+        }
+    }
+
+
+     // Closes the current segment and exports everything not exported yet.
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (exporter != null) {
+            exporter.shutdown();
+        }
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+        int exported = SegmentExporter.export(segmentsDir, resultsDir);
+        System.out.println("[SegmentResultsWriter] Exported " + exported + " Allure files to " + resultsDir.toAbsolutePath());
+    }
+}
@@ -0,0 +1,154 @@
+package com.selenide.listener;
+
+import com.codeborne.selenide.SelenideElement;
+import com.selenide.utils.ConfigReader;
+import io.qameta.allure.Allure;
+import io.qameta.allure.model.Stage;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StatusDetails;
+import io.qameta.allure.model.StepResult;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+
+ // StepRecorder - cheap replacement for @Step on page-object actions. Each action writes one event
+ // (action name, target object, argument, timings, outcome) into a per-test ring buffer of preallocated
+ // slots; nothing is formatted and no Allure object is created. Only when a test fails are the buffered
+ // events turned into Allure steps. With "steps.fullFidelity=true" every action becomes an Allure step
+ // right away, as with @Step. Ring size: "steps.buffer" (default 256, oldest events are overwritten).
+
+public final class StepRecorder {
+
+    private static volatile boolean fullFidelity = ConfigReader.getBoolean("steps.fullFidelity", false);
+    private static final int CAPACITY = Math.max(1, ConfigReader.getInt("steps.buffer", 256));
+
+    private static final ThreadLocal<Ring> RING = ThreadLocal.withInitial(Ring::new);
+
+    // Actions and time spent inside record() itself, per mode: [0] buffered, [1] full fidelity
+    private static final LongAdder[] ACTIONS = {new LongAdder(), new LongAdder()};
+    private static final LongAdder[] OVERHEAD_NANOS = {new LongAdder(), new LongAdder()};
+
+    private StepRecorder() { /* utility class */ }
+
+
+     // Records one finished action. 'target' is described (toString) only if the step is emitted.
+
+    public static void record(String action, Object target, String argument, long startNanos, Throwable error) {
+        long begin = System.nanoTime();
+        boolean full = fullFidelity;
+        if (full) {
+            long nowMillis = System.currentTimeMillis();
+            emit(action, target, argument, nowMillis - (begin - startNanos) / 1_000_000, nowMillis, error);
+        } else {
+            RING.get().add(action, target, argument, startNanos, begin, error);
+        }
+        int mode = full ? 1 : 0;
+        ACTIONS[mode].increment();
+        OVERHEAD_NANOS[mode].add(System.nanoTime() - begin);
+    }
+
+    // Switches the mode at runtime (the configured default is "steps.fullFidelity"), e.g. to benchmark both
+    public static void setFullFidelity(boolean enabled) {
+        fullFidelity = enabled;
+    }
+
+    // New test on this thread: forget earlier events
+    public static void reset() {
+        RING.get().clear();
+    }
+
+
+     // Failed test: replays the buffered events (oldest first) as Allure steps of the current test.
+
+    public static void emitBuffered() {
+        Ring ring = RING.get();
+        long nowMillis = System.currentTimeMillis();
+        long nowNanos = System.nanoTime();
+        if (ring.dropped > 0) {
+            emit(ring.dropped + " earlier actions not recorded (steps.buffer=" + CAPACITY + ")",
+                    null, null, nowMillis, nowMillis, null);
+        }
+        for (int i = 0; i < ring.count; i++) {
+            int slot = (ring.next - ring.count + i + CAPACITY) % CAPACITY;
+            emit(ring.actions[slot], ring.targets[slot], ring.arguments[slot],
+                    nowMillis - (nowNanos - ring.starts[slot]) / 1_000_000,
+                    nowMillis - (nowNanos - ring.stops[slot]) / 1_000_000,
+                    ring.errors[slot]);
+        }
+        ring.clear();
+    }
+
+    // Adds one finished step to the current Allure test
+    private static void emit(String action, Object target, String argument, long startMillis, long stopMillis, Throwable error) {
+        StringBuilder name = new StringBuilder(action);
+        if (argument != null) {
+            name.append(" '").append(argument).append('\'');
+        }
+        if (target instanceof SelenideElement) {
+            // the locator, not toString(): that would query the browser (which may be gone by now)
+            name.append(": ").append(((SelenideElement) target).getSearchCriteria());
+        } else if (target != null) {
+            name.append(": ").append(target);
+        }
+        StepResult step = new StepResult()
+                .setName(name.toString())
+                .setStart(startMillis)
+                .setStop(stopMillis)
+                .setStage(Stage.FINISHED)
+                .setStatus(error == null ? Status.PASSED : Status.BROKEN);
+        if (error != null) {
+            step.setStatusDetails(new StatusDetails().setMessage(String.valueOf(error.getMessage())));
+        }
+        Allure.getLifecycle().updateTestCase(test -> test.getSteps().add(step));
+    }
+
+
+     // e.g. "[Steps] buffered: 420 actions, 310 ns/action | fullFidelity: 0 actions"
+
+    public static String report() {
+        return "[Steps] " + describe("buffered", 0) + " | " + describe("fullFidelity", 1);
+    }
+
+    private static String describe(String mode, int index) {
+        long actions = ACTIONS[index].sum();
+        return actions == 0 ? mode + ": 0 actions"
+                : String.format("%s: %d actions, %d ns/action", mode, actions, OVERHEAD_NANOS[index].sum() / actions);
+    }
+
+    // Preallocated slots, overwritten in place
+    private static final class Ring {
+        private final String[] actions = new String[CAPACITY];
+        private final Object[] targets = new Object[CAPACITY];
+        private final String[] arguments = new String[CAPACITY];
+        private final long[] starts = new long[CAPACITY];
+        private final long[] stops = new long[CAPACITY];
+        private final Throwable[] errors = new Throwable[CAPACITY];
+        private int next;
+        private int count;
+        private long dropped;
+
+        void add(String action, Object target, String argument, long start, long stop, Throwable error) {
+            actions[next] = action;
+            targets[next] = target;
+            arguments[next] = argument;
+            starts[next] = start;
+            stops[next] = stop;
+            errors[next] = error;
+            next = (next + 1) % CAPACITY;
+            if (count < CAPACITY) {
+                count++;
+            } else {
+                dropped++;
+            }
+        }
+
+        void clear() {
+            next = 0;
+            count = 0;
+            dropped = 0;
+            Arrays.fill(targets, null);
+            Arrays.fill(errors, null);
+        }
+    }
+}
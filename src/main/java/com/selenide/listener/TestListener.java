@@ -1,21 +1,14 @@
 package com.selenide.listener;
 
 import com.codeborne.selenide.WebDriverRunner;
-import io.qameta.allure.Allure;
-import org.apache.commons.io.FileUtils;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
 
-import java.io.ByteArrayInputStream;
-import java.io.File;
-import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.UUID;
 
 
  // TestListener: captures screenshots and page sources for failed tests
- // and attaches them to Allure reports.
+ // and attaches them to Allure reports (written asynchronously by ArtifactPipeline).
 
 public class TestListener {
 
@@ -25,6 +18,15 @@ public class TestListener {
         System.err.println("=== FAILED: " + testName + " ===");
         if (cause != null) System.err.println("Cause: " + cause);
 
+        String safeTestName = (testName == null ? "unknown_test" : testName)
+                .replaceAll("[^a-zA-Z0-9._-]", "_");
+        boolean domRecorded = DomRecorder.isRecording();
+        if (domRecorded) {
+            // The recorded DOM history replaces the page-source dump
+            ArtifactPipeline.submitText("DomEvents_" + safeTestName + ".jsonl", "text/plain", ".jsonl",
+                    DomRecorder.eventLog(), DomRecorder.logFile(safeTestName));
+        }
+
         if (!WebDriverRunner.hasWebDriverStarted()) {
             System.err.println("WebDriver not started; cannot capture screenshot.");
             return;
@@ -33,32 +35,12 @@ public class TestListener {
         try {
             String timestamp = DATE_FORMAT.format(new Date());
             String uuid = UUID.randomUUID().toString().substring(0, 8);
-            String safeTestName = (testName == null ? "unknown_test" : testName)
-                    .replaceAll("[^a-zA-Z0-9._-]", "_");
-
-            String screenshotFileName = safeTestName + "_" + timestamp + "_" + uuid + ".png";
-            String pageSourceFileName = safeTestName + "_" + timestamp + "_" + uuid + ".html";
-
-            // Capture screenshot via WebDriver (fresh bytes every time)
-            byte[] screenshotBytes = ((TakesScreenshot) WebDriverRunner.getWebDriver())
-                    .getScreenshotAs(OutputType.BYTES);
-
-            // Save locally
-            File targetDir = new File("target/screenshots");
-            targetDir.mkdirs();
-            File targetFile = new File(targetDir, screenshotFileName);
-            FileUtils.writeByteArrayToFile(targetFile, screenshotBytes);
-            System.out.println("[TestListener] Screenshot saved: " + targetFile.getAbsolutePath());
 
-            // Attach to Allure
-            Allure.addAttachment(screenshotFileName, new ByteArrayInputStream(screenshotBytes));
+            // Grab the raw data only; decoding and writing happen on the artifact pipeline
+            ScreenshotCapture.Screenshot screenshot = ScreenshotCapture.capture();
+            String pageSource = domRecorded ? null : WebDriverRunner.getWebDriver().getPageSource();
 
-            // Attach page source
-            String pageSource = WebDriverRunner.getWebDriver().getPageSource();
-            Allure.addAttachment("PageSource_" + pageSourceFileName,
-                    "text/html",
-                    new ByteArrayInputStream(pageSource.getBytes(StandardCharsets.UTF_8)),
-                    ".html");
+            ArtifactPipeline.submit(safeTestName + "_" + timestamp + "_" + uuid, screenshot, pageSource);
 
         } catch (Exception e) {
             System.err.println("Failed to capture screenshot/page source: " + e.getMessage());
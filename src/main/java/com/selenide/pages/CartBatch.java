@@ -0,0 +1,73 @@
+package com.selenide.pages;
+
+import com.selenide.utils.ActionEpoch;
+import com.selenide.utils.WaitEngine;
+import com.selenide.utils.WaitUtil;
+import org.openqa.selenium.NoSuchElementException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static com.codeborne.selenide.Selenide.executeJavaScript;
+
+
+ // CartBatch - bulk add / remove for ProductsPage and CartPage. One script resolves every product
+ // by name and clicks its button (element.click() runs the app's real handlers); nothing is
+ // clicked if any product is missing. The script returns the badge count the cart should end with.
+
+final class CartBatch {
+
+    private static final String BADGE_COUNT =
+            "var b = document.querySelector('.shopping_cart_badge'); var badge = b ? parseInt(b.innerText, 10) : 0;";
+
+    // arguments[0] = product names; clicks "Add to cart" buttons, skips products already added
+    static final String ADD_SCRIPT = batchScript(".inventory_item", "add");
+
+    // arguments[0] = product names; clicks "Remove" buttons
+    static final String REMOVE_SCRIPT = batchScript(".cart_item, .inventory_item", "remove");
+
+    private CartBatch() { /* utility class */ }
+
+    private static String batchScript(String itemSelector, String wantedLabelPrefix) {
+        return BADGE_COUNT +
+                "var byName = {};" +
+                "document.querySelectorAll('" + itemSelector + "').forEach(function (it) {" +
+                "  var n = it.querySelector('.inventory_item_name'); if (n) byName[n.innerText] = it;" +
+                "});" +
+                "var missing = arguments[0].filter(function (name) { return !byName[name]; });" +
+                "if (missing.length > 0) return {missing: missing};" +
+                "var clicked = 0;" +
+                "arguments[0].forEach(function (name) {" +
+                "  var btn = byName[name].querySelector('button');" +
+                "  if (btn && btn.innerText.toLowerCase().indexOf('" + wantedLabelPrefix + "') === 0) { btn.click(); clicked++; }" +
+                "});" +
+                "return {missing: [], expected: badge " + ("add".equals(wantedLabelPrefix) ? "+" : "-") + " clicked};";
+    }
+
+    // Runs the batch and returns the expected badge count; throws if any product is not on the page
+    @SuppressWarnings("unchecked")
+    static int run(String script, Collection<String> productNames, String missingMessage) {
+        Map<String, Object> result = executeJavaScript(script, new ArrayList<>(productNames));
+        // the page changed behind Selenide's back, so cached snapshots are stale
+        ActionEpoch.bump();
+        List<String> missing = (List<String>) result.get("missing");
+        if (!missing.isEmpty()) {
+            throw new NoSuchElementException(missingMessage + missing);
+        }
+        return ((Number) result.get("expected")).intValue();
+    }
+
+    static void verifyBadgeCount(int expected) {
+        String script = BADGE_COUNT + "return badge;";
+        long[] actual = new long[1];
+        boolean matched = WaitEngine.await(WaitEngine.ConditionType.SCRIPT, WaitUtil.defaultTimeout(), () -> {
+            actual[0] = ((Number) executeJavaScript(script)).longValue();
+            return actual[0] == expected;
+        });
+        if (!matched) {
+            throw new AssertionError("Cart badge shows " + actual[0] + " item(s) after the batch, expected " + expected);
+        }
+    }
+}
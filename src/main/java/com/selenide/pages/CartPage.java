@@ -3,12 +3,16 @@ package com.selenide.pages;
 import com.codeborne.selenide.Condition;
 import com.codeborne.selenide.ElementsCollection;
 import com.codeborne.selenide.SelenideElement;
+import com.selenide.base.BasePage;
+import com.selenide.utils.PageExpectations;
+import org.openqa.selenium.NoSuchElementException;
+
+import java.util.Collection;
 
 import static com.codeborne.selenide.Selenide.$;
 import static com.codeborne.selenide.Selenide.$$;
-import static com.codeborne.selenide.Condition.text;
 
-public class CartPage {
+public class CartPage extends BasePage {
 
     // Locators
     private final SelenideElement cartTitle = $(".title");
@@ -21,47 +25,67 @@ public class CartPage {
      // Verify the Cart page title
 
     public String getCartTitle() {
-        return cartTitle.getText();
+        return snapshot().getTitle();
     }
 
       // Get the number of items in the cart
 
     public int getCartItemCount() {
-        return cartItems.size();
+        return snapshot().getItemCount();
     }
 
      // Verify a product exists in the cart
 
     public boolean isProductInCart(String productName) {
-        return cartItems.findBy(text(productName)).exists();
+        return snapshot().contains(productName);
     }
 
      // Remove a product from the cart by product name
 
     public CartPage removeProduct(String productName) {
-        cartItems.findBy(text(productName))
+        cartItem(productName)
                 .$("button")
                 .click();
         return this;
     }
 
+
+     // Remove several products in one script call (real button clicks, one badge check at the end)
+
+    public CartPage removeProducts(Collection<String> productNames) {
+        int expected = CartBatch.run(CartBatch.REMOVE_SCRIPT, productNames, "Products not in the cart: ");
+        CartBatch.verifyBadgeCount(expected);
+        return this;
+    }
+
+
+     // Cart item by product name, located by its position in the current snapshot (checked to still carry that name)
+
+    private SelenideElement cartItem(String productName) {
+        int index = snapshot().indexOf(productName);
+        if (index < 0) {
+            throw new NoSuchElementException("Product not in the cart: " + productName);
+        }
+        return verifiedItem(".cart_item", ".inventory_item_name", index, productName);
+    }
+
      // Proceed to checkout
 
     public CheckoutPage proceedToCheckout() {
         checkoutButton.click();
-        return new CheckoutPage();
+        return new CheckoutPage().landed();
     }
 
      // Go back to the product page
 
     public ProductsPage continueShopping() {
         continueShoppingButton.click();
-        return new ProductsPage();
+        return new ProductsPage().landed();
     }
 
 
     public CartPage removeItemFromCart(String productName) {
-        $$(".cart_item").findBy(Condition.text(productName))
+        cartItem(productName)
                 .$("button").click();
         return this;
     }
@@ -77,11 +101,33 @@ public class CartPage {
     }
 
 
+    // Title and item names in one script call; re-read only after an action may have changed the page
+
+    public CartSnapshot snapshot() {
+        return cachedSnapshot(CartSnapshot::capture);
+    }
+
+
     public CheckoutPage checkout() {
         checkoutButton.click();
-        return new CheckoutPage();
+        return new CheckoutPage().landed();
     }
-}
 
+    @Override
+    protected SelenideElement getPageIdentifier() {
+        return cartTitle;
+    }
 
+    @Override
+    protected String readinessPredicate() {
+        return "!!document.querySelector('.cart_list') && !!document.querySelector('#checkout')";
+    }
 
+    @Override
+    protected PageExpectations pageExpectations() {
+        return PageExpectations.on("CartPage")
+                .exactText(".title", "Your Cart")
+                .visible("#checkout")
+                .visible("#continue-shopping");
+    }
+}
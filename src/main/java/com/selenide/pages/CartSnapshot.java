@@ -0,0 +1,64 @@
+package com.selenide.pages;
+
+import com.selenide.utils.WaitEngine;
+import com.selenide.utils.WaitUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static com.codeborne.selenide.Selenide.executeJavaScript;
+
+
+ // CartSnapshot - immutable view of the cart page pulled in one script call:
+ // page title and the names of the items in the cart (in display order).
+
+public final class CartSnapshot {
+
+    private static final String CAPTURE_SCRIPT =
+            "if (document.readyState !== 'complete') return null;" +
+            "var names = [];" +
+            "document.querySelectorAll('.cart_item .inventory_item_name').forEach(function (n) { names.push(n.innerText); });" +
+            "var t = document.querySelector('.title');" +
+            "return {title: t ? t.innerText : null, names: names};";
+
+    private final String title;
+    private final List<String> itemNames;
+
+    private CartSnapshot(String title, List<String> itemNames) {
+        this.title = title;
+        this.itemNames = Collections.unmodifiableList(itemNames);
+    }
+
+    @SuppressWarnings("unchecked")
+    static CartSnapshot capture() {
+        Map<String, Object>[] raw = new Map[1];
+        WaitEngine.await(WaitEngine.ConditionType.SCRIPT, WaitUtil.defaultTimeout(),
+                () -> (raw[0] = executeJavaScript(CAPTURE_SCRIPT)) != null);
+        if (raw[0] == null) {
+            throw new IllegalStateException("Cart page did not finish loading");
+        }
+        return new CartSnapshot((String) raw[0].get("title"), new ArrayList<>((List<String>) raw[0].get("names")));
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public List<String> getItemNames() {
+        return itemNames;
+    }
+
+    public int getItemCount() {
+        return itemNames.size();
+    }
+
+    public int indexOf(String productName) {
+        return itemNames.indexOf(productName);
+    }
+
+    public boolean contains(String productName) {
+        return itemNames.contains(productName);
+    }
+}
@@ -3,12 +3,16 @@ package com.selenide.pages;
 
 
 import com.codeborne.selenide.SelenideElement;
+import com.codeborne.selenide.WebDriverRunner;
+import com.selenide.base.BasePage;
+import com.selenide.utils.PageExpectations;
+import com.selenide.utils.PerformanceBudget;
 
 import static com.codeborne.selenide.Condition.visible;
 import static com.codeborne.selenide.Selenide.$;
 
 
-public class CheckoutPage {
+public class CheckoutPage extends BasePage {
 
     private final SelenideElement infoTitle = $(".title");
     private final SelenideElement errorMessage = $(".error-message-container");
@@ -37,26 +41,35 @@ public class CheckoutPage {
       // Enter checkout information
 
     public CheckoutPage enterFirstName(String firstName) {
-        firstNameInput.setValue(firstName);
+        withCached(firstNameInput, input -> input.setValue(firstName));
         return this;
     }
 
     public CheckoutPage enterLastName(String lastName) {
-        lastNameInput.setValue(lastName);
+        withCached(lastNameInput, input -> input.setValue(lastName));
         return this;
     }
 
     public CheckoutPage enterPostalCode(String postalCode) {
-        postalCodeInput.setValue(postalCode);
+        withCached(postalCodeInput, input -> input.setValue(postalCode));
         return this;
     }
 
 
-      // Proceed to the next step
+      // Proceed to the next step (stays on step one with an inline error when a field is missing)
 
     public CheckoutPage continueCheckout() {
-        continueButton.click();
-        return this;
+        String before = WebDriverRunner.url();
+        withCached(continueButton, SelenideElement::click);
+        return landedIfNavigated(before);
+    }
+
+
+     // Navigation hooks (network idle, perf sample, budget) only when the click left the page;
+     // a validation error keeps the URL and needs none of them.
+
+    private CheckoutPage landedIfNavigated(String urlBefore) {
+        return urlBefore.equals(WebDriverRunner.url()) ? this : landed();
     }
 
 
@@ -73,7 +86,7 @@ public class CheckoutPage {
 
     public ProductsPage backToHome() {
         backHomeButton.click();
-        return new ProductsPage();
+        return new ProductsPage().landed();
     }
 
     public String getInformationTitle() {
@@ -90,22 +103,63 @@ public class CheckoutPage {
         return this;
     }
 
+    public boolean isErrorMessageVisible() {
+        return errorCloseButton.is(visible);
+    }
+
+    // Reset the information form between data rows: close any error and clear the fields
+    public CheckoutPage resetForm() {
+        if (isErrorMessageVisible()) {
+            closeErrorMessage();
+        }
+        withCached(firstNameInput, SelenideElement::clear);
+        withCached(lastNameInput, SelenideElement::clear);
+        withCached(postalCodeInput, SelenideElement::clear);
+        return this;
+    }
+
     public CheckoutPage cancelCheckout() {
         // Scroll to the Cancel button before clicking
+        String before = WebDriverRunner.url();
         cancelBtn.scrollIntoView(true).click();
-        return this;
+        return landedIfNavigated(before);
     }
 
     public CheckoutPage finishCheckout() {
         // Scroll to the Finish button before clicking
+        String before = WebDriverRunner.url();
         finishBtn.scrollIntoView(true).click();
-        return this;
+        return landedIfNavigated(before);
     }
 
     public String getSuccessMessage() {
         return $("h2.complete-header").shouldBe(visible).getText();
     }
 
+    @Override
+    protected SelenideElement getPageIdentifier() {
+        return infoTitle;
+    }
+
+    @Override
+    protected String readinessPredicate() {
+        return "!!document.querySelector('.checkout_info, .checkout_summary_container, .checkout_complete_container')";
+    }
 
+    // Only the overview step has a budget
+    @Override
+    protected PerformanceBudget performanceBudget() {
+        if (!WebDriverRunner.url().contains("checkout-step-two")) {
+            return null;
+        }
+        return PerformanceBudget.forPage("CheckoutStepTwo")
+                .max("ttfb", 300);
+    }
 
+    @Override
+    protected PageExpectations pageExpectations() {
+        return PageExpectations.on("CheckoutPage")
+                .visible(".title")
+                .text(".title", "Checkout");
+    }
 }
@@ -2,11 +2,13 @@ package com.selenide.pages;
 
 import com.codeborne.selenide.Condition;
 import com.codeborne.selenide.SelenideElement;
+import com.selenide.base.BasePage;
+import com.selenide.utils.PageExpectations;
 
 import static com.codeborne.selenide.Selenide.$;
 import static com.codeborne.selenide.Selenide.open;
 
-public class LoginPage {
+public class LoginPage extends BasePage {
 
     // ===== Locators =====
     private final SelenideElement loginButton        = $("#login-button");
@@ -28,7 +30,7 @@ public class LoginPage {
     public LoginPage openPage() {
         open(""); // baseUrl defined in config
         loginButton.shouldBe(Condition.visible); // wait for page
-        return this;
+        return landed();
     }
 
 
@@ -40,7 +42,7 @@ public class LoginPage {
         setPassword(password);
         clickLogin();
         inventoryContainer.shouldBe(Condition.visible);
-        return new ProductsPage();
+        return new ProductsPage().landed();
     }
 
      // Attempt login with invalid credentials
@@ -99,6 +101,14 @@ public class LoginPage {
         }
     }
 
+    // Reset the form between data rows: close any error and clear both fields
+    public LoginPage resetForm() {
+        closeErrorMessage();
+        usernameField.clear();
+        passwordField.clear();
+        return this;
+    }
+
     public boolean isLoginButtonEnabled() {
         return loginButton.isEnabled(); // no forced wait
     }
@@ -150,10 +160,29 @@ public class LoginPage {
     }
     public ProductsPage submitValidLogin() {
         loginButton.shouldBe(Condition.visible).click();
-        return new ProductsPage();
+        return new ProductsPage().landed();
     }
 
     public boolean isLoginButtonDisplayed() {
         return loginButton.isDisplayed();
     }
+
+    @Override
+    protected SelenideElement getPageIdentifier() {
+        return loginButton;
+    }
+
+    @Override
+    protected String readinessPredicate() {
+        return "!!document.querySelector('#login-button')";
+    }
+
+    @Override
+    protected PageExpectations pageExpectations() {
+        return PageExpectations.on("LoginPage")
+                .visible("#user-name")
+                .visible("#password")
+                .attribute("#password", "type", "password")
+                .visible("#login-button");
+    }
 }
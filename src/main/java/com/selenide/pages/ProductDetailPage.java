@@ -4,13 +4,15 @@ package com.selenide.pages;
 
 import com.codeborne.selenide.ElementsCollection;
 import com.codeborne.selenide.SelenideElement;
+import com.selenide.base.BasePage;
+import com.selenide.utils.PageExpectations;
 
 import static com.codeborne.selenide.Condition.text;
 import static com.codeborne.selenide.Selenide.$;
 import static com.codeborne.selenide.Selenide.$$;
 
 
-public class ProductDetailPage {
+public class ProductDetailPage extends BasePage {
 
     // Locators
     private final SelenideElement productTitle = $(".inventory_details_name");
@@ -63,7 +65,24 @@ public class ProductDetailPage {
 
     public ProductsPage backToProducts() {
         backButton.click();
-        return new ProductsPage();
+        return new ProductsPage().landed();
     }
 
+    @Override
+    protected SelenideElement getPageIdentifier() {
+        return productTitle;
+    }
+
+    @Override
+    protected String readinessPredicate() {
+        return "!!document.querySelector('.inventory_details_name')";
+    }
+
+    @Override
+    protected PageExpectations pageExpectations() {
+        return PageExpectations.on("ProductDetailPage")
+                .visible(".inventory_details_name")
+                .visible(".inventory_details_price")
+                .visible("#back-to-products");
+    }
 }
@@ -6,16 +6,19 @@ import com.codeborne.selenide.Condition;
 import com.codeborne.selenide.SelenideElement;
 import com.codeborne.selenide.ElementsCollection;
 import com.codeborne.selenide.WebDriverRunner;
+import com.selenide.base.BasePage;
+import com.selenide.utils.PageExpectations;
+import com.selenide.utils.PerformanceBudget;
+import org.openqa.selenium.NoSuchElementException;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import static com.codeborne.selenide.Selenide.$;
 import static com.codeborne.selenide.Selenide.$$;
-import static com.codeborne.selenide.Condition.text;
 import static java.time.zone.ZoneRulesProvider.refresh;
 
-public class ProductsPage {
+public class ProductsPage extends BasePage {
 
     // Locators
     private final SelenideElement pageTitle = $(".title");
@@ -29,49 +32,66 @@ public class ProductsPage {
 
 
     private SelenideElement removeButton(String productName) {
-        return inventoryItems
-                .findBy(Condition.text(productName))
+        return productItem(productName)
                 .$("button"); // Button text changes Add → Remove
     }
 
 
+     // Inventory item by product name, located by its position in the current snapshot (and checked
+     // to still carry that name): a fixed number of commands instead of reading every item's text.
+
+    private SelenideElement productItem(String productName) {
+        int index = snapshot().indexOf(productName);
+        if (index < 0) {
+            throw new NoSuchElementException("Product not listed on the Products page: " + productName);
+        }
+        return verifiedItem(".inventory_item", ".inventory_item_name", index, productName);
+    }
+
+
     // Get the number of items shown in the cart badge
 
     public int getCartItemCount() {
-        return cartBadge.exists() ? Integer.parseInt(cartBadge.getText()) : 0;
+        return snapshot().getBadgeCount();
     }
 
      // Verify that we are on the Products page
 
     public String getPageTitle() {
-        return pageTitle.getText();
+        return snapshot().getTitle();
     }
 
 
      // Get number of products listed
 
     public String getCartBadgeCount() {
-        if (cartBadge.exists()) {
-            return cartBadge.shouldBe(Condition.visible).getText();
-        }
-        return "0";
+        return String.valueOf(snapshot().getBadgeCount());
     }
 
 
      // Add a product to the cart by product name
 
     public ProductsPage addProductToCart(String productName) {
-        inventoryItems
-                .findBy(text(productName))
+        productItem(productName)
                 .$("button").click();
         return this;
     }
 
+     // Add several products in one script call. The script clicks each product's real button
+     // (so the app's handlers run), skipping products already in the cart; the badge count is
+     // then verified once for the whole batch.
+
+    public ProductsPage addProductsToCart(Collection<String> productNames) {
+        int expected = CartBatch.run(CartBatch.ADD_SCRIPT, productNames, "Products not listed on the Products page: ");
+        CartBatch.verifyBadgeCount(expected);
+        return this;
+    }
+
     // Navigate to the shopping cart page
 
     public CartPage goToCart() {
-        cartIcon.click();
-        return new CartPage();
+        withCached(cartIcon, SelenideElement::click);
+        return new CartPage().landed();
     }
 
     public ProductsPage refreshPage() {
@@ -85,15 +105,14 @@ public class ProductsPage {
     }
 
     public boolean isProductInCart(String productName) {
-        return removeButton(productName).getText().equalsIgnoreCase("Remove");
+        return snapshot().isInCart(productName);
     }
 
     public ProductDetailPage openProductDetail(String productName) {
-        inventoryItems
-                .findBy(text(productName))
+        productItem(productName)
                 .$(".inventory_item_name") // clickable product link
                 .click();
-        return new ProductDetailPage();
+        return new ProductDetailPage().landed();
     }
 
 
@@ -108,13 +127,11 @@ public class ProductsPage {
      // Get the list of product names in their current order
 
     public List<String> getProductNames() {
-        return productNames.texts();
+        return snapshot().getNames();
     }
 
     public List<Double> getProductPrices() {
-        return $$(".inventory_item_price").texts().stream()
-                .map(price -> Double.parseDouble(price.replace("$", "")))
-                .collect(Collectors.toList());
+        return snapshot().getPrices();
     }
 
 
@@ -123,20 +140,52 @@ public class ProductsPage {
     public LoginPage logout() {
         menuButton.click();
         logoutLink.click();
-        return new LoginPage();
+        return new LoginPage().landed();
     }
 
     public CartPage openCart() {
-        cartIcon.click();
-        return new CartPage();
+        withCached(cartIcon, SelenideElement::click);
+        return new CartPage().landed();
     }
 
     public String getProductsTitle() {
-        return pageTitle.getText();
+        return snapshot().getTitle();
+    }
+
+
+     // Title, names, prices, button labels and badge in one script call; re-read only after
+     // an action (click, open, refresh, ...) may have changed the page
+
+    public ProductsSnapshot snapshot() {
+        return cachedSnapshot(ProductsSnapshot::capture);
     }
 
     public String getCurrentUrl() {
         return WebDriverRunner.url();
     }
 
+    @Override
+    protected SelenideElement getPageIdentifier() {
+        return pageTitle;
+    }
+
+    @Override
+    protected String readinessPredicate() {
+        return "document.querySelectorAll('.inventory_item').length > 0";
+    }
+
+    @Override
+    protected PerformanceBudget performanceBudget() {
+        return PerformanceBudget.forPage("ProductsPage")
+                .max("lcp", 2000);
+    }
+
+    @Override
+    protected PageExpectations pageExpectations() {
+        return PageExpectations.on("ProductsPage")
+                .exactText(".title", "Products")
+                .minSize(".inventory_item", 1)
+                .visible(".shopping_cart_link")
+                .visible(".product_sort_container");
+    }
 }
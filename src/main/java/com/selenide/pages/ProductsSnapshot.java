@@ -0,0 +1,101 @@
+package com.selenide.pages;
+
+import com.selenide.utils.WaitEngine;
+import com.selenide.utils.WaitUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static com.codeborne.selenide.Selenide.executeJavaScript;
+
+
+ // ProductsSnapshot - immutable view of everything ProductsPage models, pulled in one script call:
+ // page title, product names, prices and button labels (in display order) and the cart badge count.
+
+public final class ProductsSnapshot {
+
+    private static final String CAPTURE_SCRIPT =
+            "if (document.readyState !== 'complete') return null;" +
+            "var names = [], prices = [], buttons = [];" +
+            "document.querySelectorAll('.inventory_item').forEach(function (it) {" +
+            "  var n = it.querySelector('.inventory_item_name'), p = it.querySelector('.inventory_item_price')," +
+            "      b = it.querySelector('button');" +
+            "  names.push(n ? n.innerText : ''); prices.push(p ? p.innerText : ''); buttons.push(b ? b.innerText : '');" +
+            "});" +
+            "var t = document.querySelector('.title'), badge = document.querySelector('.shopping_cart_badge');" +
+            "return {title: t ? t.innerText : null, names: names, prices: prices, buttons: buttons," +
+            "        badge: badge ? badge.innerText : null};";
+
+    private final String title;
+    private final List<String> names;
+    private final List<Double> prices;
+    private final List<String> buttonLabels;
+    private final int badgeCount;
+
+    private ProductsSnapshot(String title, List<String> names, List<Double> prices, List<String> buttonLabels, int badgeCount) {
+        this.title = title;
+        this.names = Collections.unmodifiableList(names);
+        this.prices = Collections.unmodifiableList(prices);
+        this.buttonLabels = Collections.unmodifiableList(buttonLabels);
+        this.badgeCount = badgeCount;
+    }
+
+
+     // Captures the current DOM; waits (one script per poll) only while the document is still loading.
+
+    @SuppressWarnings("unchecked")
+    static ProductsSnapshot capture() {
+        Map<String, Object>[] raw = new Map[1];
+        WaitEngine.await(WaitEngine.ConditionType.SCRIPT, WaitUtil.defaultTimeout(),
+                () -> (raw[0] = executeJavaScript(CAPTURE_SCRIPT)) != null);
+        if (raw[0] == null) {
+            throw new IllegalStateException("Products page did not finish loading");
+        }
+        Map<String, Object> data = raw[0];
+
+        List<Double> prices = new ArrayList<>();
+        for (Object price : (List<Object>) data.get("prices")) {
+            prices.add(Double.parseDouble(String.valueOf(price).replace("$", "")));
+        }
+        Object badge = data.get("badge");
+        return new ProductsSnapshot(
+                (String) data.get("title"),
+                new ArrayList<>((List<String>) data.get("names")),
+                prices,
+                new ArrayList<>((List<String>) data.get("buttons")),
+                badge == null ? 0 : Integer.parseInt(String.valueOf(badge).trim()));
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public List<String> getNames() {
+        return names;
+    }
+
+    public List<Double> getPrices() {
+        return prices;
+    }
+
+    public List<String> getButtonLabels() {
+        return buttonLabels;
+    }
+
+    public int getBadgeCount() {
+        return badgeCount;
+    }
+
+    // Position of the product in display order, or -1 if it is not listed
+    public int indexOf(String productName) {
+        return names.indexOf(productName);
+    }
+
+    // True when the product's button says "Remove", i.e. it is in the cart
+    public boolean isInCart(String productName) {
+        int i = indexOf(productName);
+        return i >= 0 && "Remove".equalsIgnoreCase(buttonLabels.get(i).trim());
+    }
+}
@@ -0,0 +1,89 @@
+package com.selenide.utils;
+
+import com.codeborne.selenide.logevents.LogEvent;
+import com.codeborne.selenide.logevents.LogEventListener;
+import com.codeborne.selenide.logevents.SelenideLogger;
+
+import java.util.Set;
+
+
+ // ActionEpoch - a per-thread counter bumped by every action that can change the page
+ // (click, set value, select option, open, refresh, ...). Anything cached from the DOM
+ // (page snapshots, product indexes) is valid only while the epoch it was taken at is current.
+ // Actions are observed through Selenide's log events; code that changes the page behind
+ // Selenide's back (e.g. executeJavaScript) calls bump() itself.
+
+public final class ActionEpoch {
+
+    private static final String LISTENER_NAME = "action-epoch";
+
+    // Readable Selenide subjects ("set value(abc)" -> "set value") that change the page
+    private static final Set<String> MUTATING = Set.of(
+            "click", "double click", "context click", "set value", "append", "clear", "press", "press enter",
+            "press tab", "press escape", "select option", "select option by value", "select option containing text",
+            "select radio", "send keys", "submit", "hover", "scroll to", "scroll into view", "drag and drop",
+            "upload file", "upload from classpath");
+
+    // Navigations are logged with the command as the element and the url (or "") as the subject
+    private static final Set<String> NAVIGATIONS = Set.of("open", "refresh", "back", "forward");
+
+    // [0] actions, [1] navigations
+    private static final ThreadLocal<long[]> EPOCH = ThreadLocal.withInitial(() -> new long[2]);
+
+    private ActionEpoch() { /* utility class */ }
+
+    public static long current() {
+        return EPOCH.get()[0];
+    }
+
+    public static void bump() {
+        EPOCH.get()[0]++;
+    }
+
+    // Counter of full navigations only (open, refresh, back, forward): the document was replaced
+    public static long navigations() {
+        return EPOCH.get()[1];
+    }
+
+    // Selenide listeners are per thread; page objects call this so their thread is observed
+    public static void ensureListening() {
+        if (!SelenideLogger.hasListener(LISTENER_NAME)) {
+            SelenideLogger.addListener(LISTENER_NAME, new Listener());
+        }
+    }
+
+    // Whether a Selenide log event (element + subject) is a page-changing action or a navigation
+    public static boolean isMutating(String element, String subject) {
+        return isNavigation(element) || isMutating(subject);
+    }
+
+    // Whether a Selenide log element is a full navigation (open, refresh, back, forward)
+    public static boolean isNavigation(String element) {
+        return element != null && NAVIGATIONS.contains(element);
+    }
+
+    // Whether a Selenide log subject ("click()", "set value(abc)", ...) names a page-changing action
+    public static boolean isMutating(String subject) {
+        if (subject == null) {
+            return false;
+        }
+        int paren = subject.indexOf('(');
+        return MUTATING.contains((paren >= 0 ? subject.substring(0, paren) : subject).trim());
+    }
+
+    private static final class Listener implements LogEventListener {
+        @Override
+        public void beforeEvent(LogEvent event) {
+        }
+
+        @Override
+        public void afterEvent(LogEvent event) {
+            if (isNavigation(event.getElement())) {
+                EPOCH.get()[1]++;
+            }
+            if (isMutating(event.getElement(), event.getSubject())) {
+                bump();
+            }
+        }
+    }
+}
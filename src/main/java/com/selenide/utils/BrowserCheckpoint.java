@@ -0,0 +1,129 @@
+package com.selenide.utils;
+
+import com.codeborne.selenide.WebDriverRunner;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.List;
+import java.util.Set;
+
+import static com.codeborne.selenide.Selenide.executeJavaScript;
+import static com.codeborne.selenide.Selenide.open;
+
+
+ // BrowserCheckpoint - immutable snapshot of the browser state at one point of a journey:
+ // cookies, localStorage, sessionStorage and the current URL.
+ // Restoring it puts a (possibly fresh) browser back to that point without replaying the UI steps.
+ // A checkpoint is only as good as its cookies: expiresWithin() tells when the earliest one runs out
+ // (saucedemo's "session-username" lasts about 10 minutes), isAt() whether a restore really landed.
+
+public final class BrowserCheckpoint {
+
+    private static final String CAPTURE_SCRIPT =
+            "return [JSON.stringify(window.localStorage), JSON.stringify(window.sessionStorage), window.location.href];";
+
+    private static final String RESTORE_SCRIPT =
+            "var l = JSON.parse(arguments[0]), s = JSON.parse(arguments[1]);" +
+            "window.localStorage.clear(); window.sessionStorage.clear();" +
+            "for (var k in l) { window.localStorage.setItem(k, l[k]); }" +
+            "for (var k in s) { window.sessionStorage.setItem(k, s[k]); }";
+
+    private final String name;
+    private final Set<Cookie> cookies;
+    private final String localStorage;
+    private final String sessionStorage;
+    private final String url;
+    private final Instant capturedAt = Instant.now();
+    // Earliest expiry among the captured cookies (null when all are session cookies)
+    private final Instant expiresAt;
+
+    private BrowserCheckpoint(String name, Set<Cookie> cookies, String localStorage, String sessionStorage, String url) {
+        this.name = name;
+        this.cookies = Set.copyOf(cookies);
+        this.localStorage = localStorage;
+        this.sessionStorage = sessionStorage;
+        this.url = url;
+        this.expiresAt = cookies.stream()
+                .map(Cookie::getExpiry)
+                .filter(Objects::nonNull)
+                .map(Date::toInstant)
+                .min(Instant::compareTo)
+                .orElse(null);
+    }
+
+
+     // Captures the state of the current browser (one script call plus one cookie call).
+
+    public static BrowserCheckpoint capture(String name) {
+        WebDriver driver = WebDriverRunner.getWebDriver();
+        List<?> state = executeJavaScript(CAPTURE_SCRIPT);
+        Set<Cookie> cookies = new HashSet<>(driver.manage().getCookies());
+        return new BrowserCheckpoint(name, cookies, (String) state.get(0), (String) state.get(1), (String) state.get(2));
+    }
+
+
+     // Restores cookies and storage on the checkpoint's origin, then opens the checkpoint URL.
+
+    public void restore() {
+        String origin = originOf(url);
+        if (!WebDriverRunner.hasWebDriverStarted() || !WebDriverRunner.url().startsWith(origin)) {
+            // Cookies and storage can only be written once the browser is on the right origin
+            open(origin + "/favicon.ico");
+        }
+
+        WebDriver driver = WebDriverRunner.getWebDriver();
+        driver.manage().deleteAllCookies();
+        for (Cookie cookie : cookies) {
+            driver.manage().addCookie(cookie);
+        }
+        executeJavaScript(RESTORE_SCRIPT, localStorage, sessionStorage);
+        open(url);
+    }
+
+    // Drops the cookies and storage of the current origin, so a journey replayed after a failed restore
+    // does not start with a revoked login
+    public static void clearBrowserState() {
+        if (!WebDriverRunner.hasWebDriverStarted()) {
+            return;
+        }
+        WebDriverRunner.getWebDriver().manage().deleteAllCookies();
+        try {
+            executeJavaScript("window.localStorage.clear(); window.sessionStorage.clear();");
+        } catch (RuntimeException e) {
+            // about:blank, data: URLs and the like have no storage
+        }
+    }
+
+    // True when a cookie of the checkpoint expires within 'margin' from now (a restore would inject a dead login)
+    public boolean expiresWithin(Duration margin) {
+        return expiresAt != null && Instant.now().plus(margin).isAfter(expiresAt);
+    }
+
+    // True when the browser is on the checkpoint's page (an expired login redirects elsewhere)
+    public boolean isAt(String currentUrl) {
+        return Objects.equals(URI.create(currentUrl).getPath(), URI.create(url).getPath());
+    }
+
+    public Instant getCapturedAt() {
+        return capturedAt;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    private static String originOf(String url) {
+        URI uri = URI.create(url);
+        return uri.getScheme() + "://" + uri.getAuthority();
+    }
+}
@@ -0,0 +1,113 @@
+package com.selenide.utils;
+
+import com.codeborne.selenide.Selenide;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.codeborne.selenide.Selenide.executeJavaScript;
+
+
+ // CartState - reads and seeds the saucedemo cart directly in localStorage ("cart-contents").
+ // Use it for test setup and state checks; tests that verify the cart UI itself
+ // should keep going through ProductsPage / CartPage.
+
+public final class CartState {
+
+    private static final String CART_KEY = "cart-contents";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // saucedemo inventory ids, as stored in the cart ("inventoryIds" in the product test data)
+    private static final String PRODUCT_DATA = "src/test/resources/testdata/productData.json";
+    private static final Map<String, Integer> PRODUCT_IDS = loadProductIds();
+
+    private CartState() { /* utility class */ }
+
+
+     // Replaces the cart with the given products in one script call, then reloads the page
+     // so the app renders the new cart. Throws IllegalArgumentException for products missing from
+     // "inventoryIds" in productData.json.
+
+    public static void seed(Collection<String> productNames) {
+        List<Integer> ids = new ArrayList<>();
+        for (String name : productNames) {
+            Integer id = PRODUCT_IDS.get(name);
+            if (id == null) {
+                throw new IllegalArgumentException("Unknown product: " + name
+                        + " (add its id to inventoryIds in " + PRODUCT_DATA + ")");
+            }
+            ids.add(id);
+        }
+        executeJavaScript("window.localStorage.setItem(arguments[0], arguments[1])", CART_KEY, toJson(ids));
+        Selenide.refresh();
+        ActionEpoch.bump();
+    }
+
+
+     // Returns the names of the products in the cart, in the order they were added (one script call).
+
+    public static List<String> read() {
+        List<Integer> ids = readIds();
+        List<String> names = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            names.add(PRODUCT_IDS.entrySet().stream()
+                    .filter(e -> e.getValue().equals(id))
+                    .map(Map.Entry::getKey)
+                    .findFirst()
+                    .orElse("product#" + id));
+        }
+        return names;
+    }
+
+    public static int count() {
+        return readIds().size();
+    }
+
+    public static boolean isEmpty() {
+        return readIds().isEmpty();
+    }
+
+    // Empties the cart in storage (the page shows it after the next load)
+    public static void clear() {
+        executeJavaScript("window.localStorage.removeItem(arguments[0])", CART_KEY);
+        // cached cart/product snapshots no longer match the state
+        ActionEpoch.bump();
+    }
+
+    private static Map<String, Integer> loadProductIds() {
+        try {
+            return MAPPER.convertValue(MAPPER.readTree(new File(PRODUCT_DATA)).get("inventoryIds"),
+                    new TypeReference<LinkedHashMap<String, Integer>>() {});
+        } catch (IOException e) {
+            throw new RuntimeException(" Could not load inventory ids from " + PRODUCT_DATA, e);
+        }
+    }
+
+    private static List<Integer> readIds() {
+        String json = executeJavaScript("return window.localStorage.getItem(arguments[0])", CART_KEY);
+        if (json == null || json.isBlank()) {
+            return Collections.emptyList();
+        }
+        try {
+            return MAPPER.readValue(json, new TypeReference<List<Integer>>() {});
+        } catch (IOException e) {
+            throw new RuntimeException(" Could not parse cart contents: " + json, e);
+        }
+    }
+
+    private static String toJson(List<Integer> ids) {
+        try {
+            return MAPPER.writeValueAsString(ids);
+        } catch (IOException e) {
+            throw new RuntimeException(" Could not serialize cart contents", e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.selenide.utils;
+
+import com.codeborne.selenide.WebDriverRunner;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.util.Map;
+import java.util.Optional;
+
+
+ // DevToolsSupport - version-independent access to Chrome DevTools Protocol for the current Selenide session.
+ // Events and commands are addressed by their CDP names (e.g. "Network.requestWillBeSent"), with params as maps,
+ // so nothing here depends on a specific selenium-devtools-vNNN artifact.
+
+public final class DevToolsSupport {
+
+    private DevToolsSupport() { /* utility class */ }
+
+
+     // The DevTools connection of the current browser, with a CDP session attached.
+     // Empty when no browser is running or the browser does not support CDP (e.g. Firefox).
+
+    public static Optional<DevTools> devTools() {
+        if (!WebDriverRunner.hasWebDriverStarted()) {
+            return Optional.empty();
+        }
+        WebDriver driver = currentDriver();
+        if (!(driver instanceof HasDevTools)) {
+            return Optional.empty();
+        }
+        try {
+            Optional<DevTools> devTools = ((HasDevTools) driver).maybeGetDevTools();
+            devTools.ifPresent(DevTools::createSessionIfThereIsNotOne);
+            return devTools;
+        } catch (RuntimeException e) {
+            // e.g. remote grid without a CDP endpoint
+            return Optional.empty();
+        }
+    }
+
+    // The underlying driver of the current session, unwrapped from Selenide/listener decorators
+    public static WebDriver currentDriver() {
+        WebDriver driver = WebDriverRunner.getWebDriver();
+        while (driver instanceof WrapsDriver) {
+            driver = ((WrapsDriver) driver).getWrappedDriver();
+        }
+        return driver;
+    }
+
+    public static Event<Map<String, Object>> event(String method) {
+        return new Event<>(method, input -> input.read(Json.MAP_TYPE));
+    }
+
+    public static Command<Map<String, Object>> command(String method, Map<String, Object> params) {
+        return new Command<>(method, params, input -> input.read(Json.MAP_TYPE));
+    }
+}
@@ -58,8 +58,10 @@ public class DriverFactory {
         Configuration.baseUrl = baseUrl;
         Configuration.headless = headless;
         Configuration.timeout = timeout * 1000L;
-        Configuration.screenshots = true;
-        Configuration.savePageSource = true;
+        // Failure artifacts are captured once, by TestListener from JUnitlistener.afterTestExecution (before
+        // @AfterEach quits the driver); Selenide's own copies would be duplicates
+        Configuration.screenshots = false;
+        Configuration.savePageSource = false;
         Configuration.reportsFolder = "target/allure-results";
 
         if (headless) {
@@ -68,6 +70,9 @@ public class DriverFactory {
             Configuration.browserSize = null;
         }
 
+        // Track network activity from the session's first page load on
+        NetworkIdleTracker.installOnStart();
+
         // ⚠️ Removed auto-open here
         if (!WebDriverRunner.hasWebDriverStarted()) {
             // Do NOT open URL here. Let tests decide when to open.
@@ -0,0 +1,199 @@
+package com.selenide.utils;
+
+import com.codeborne.selenide.Configuration;
+import com.codeborne.selenide.SelenideConfig;
+import com.codeborne.selenide.SelenideDriver;
+import com.codeborne.selenide.SelenideElement;
+import com.codeborne.selenide.WebDriverRunner;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import static com.codeborne.selenide.Selenide.$;
+import static com.codeborne.selenide.Selenide.executeJavaScript;
+
+
+ // ElementCache - opt-in (config "elementCache=true") cache of resolved element references for one page object.
+ // Hits skip the findElement round trip and cost no extra command: the cache is not re-validated per action.
+ // It is dropped on a full navigation (ActionEpoch.navigations()), and a reference that went stale is
+ // noticed when it is used: with() runs the action on the cached element with a zero timeout, and on
+ // failure checks the raw WebElement (which fails fast, unlike a Selenide proxy that would retry for the
+ // whole timeout). Only a stale reference is retried, on the plain locator; any other failure is rethrown,
+ // since the action may already have reached the app (a click that failed a later check must not run twice).
+ // A stale reference is an observed mutation: window.__domVersion (counted by an injected
+ // MutationObserver) is read then, and when it moved all references are dropped, not just the stale one.
+ // Meant for stable locators (ids): a node that stays attached but stops matching is not detected.
+
+public final class ElementCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ElementCache.class);
+
+    // Returns the DOM version, or -1 right after installing the observer into a new document
+    private static final String DOM_VERSION_SCRIPT =
+            "if (typeof window.__domVersion !== 'number') {" +
+            "  window.__domVersion = 0;" +
+            "  new MutationObserver(function () { window.__domVersion++; })" +
+            "      .observe(document, {childList: true, subtree: true});" +
+            "  return -1;" +
+            "}" +
+            "return window.__domVersion;";
+
+    // page name -> {hits, misses, stale retries}
+    private static final Map<String, LongAdder[]> STATS = new ConcurrentHashMap<>();
+    // Single-attempt driver for the thread's current browser session (rebuilt when the session changes)
+    private static final ThreadLocal<SelenideDriver> FAIL_FAST = new ThreadLocal<>();
+
+    private final String pageName;
+    private final boolean enabled;
+    private final Map<SelenideElement, WebElement> resolved = new IdentityHashMap<>();
+    private long syncedNavigation = -1;
+    private long domVersion = -1;
+
+    public ElementCache(String pageName) {
+        this.pageName = pageName;
+        this.enabled = isEnabled();
+    }
+
+    public static boolean isEnabled() {
+        return ConfigReader.getBoolean("elementCache", false);
+    }
+
+
+     // The element behind 'locator': a wrapper around the cached reference when the DOM has not
+     // changed since it was resolved, otherwise the locator itself (resolved and cached on the way).
+
+    public SelenideElement resolve(SelenideElement locator) {
+        if (!enabled) {
+            return locator;
+        }
+        WebElement element = cachedReference(locator);
+        return element != null ? $(element) : lookUp(locator);
+    }
+
+
+     // Runs an action on the cached element. If that fails, the raw reference is checked: when it went
+     // stale the cache is re-synced and the action is repeated once on the plain locator, with Selenide's
+     // usual waiting; otherwise the failure is rethrown.
+
+    public void with(SelenideElement locator, Consumer<SelenideElement> action) {
+        if (!enabled) {
+            action.accept(locator);
+            return;
+        }
+        WebElement element = cachedReference(locator);
+        if (element == null) {
+            action.accept(lookUp(locator));
+            return;
+        }
+        try {
+            action.accept(failFast().$(element));
+            return;
+        } catch (RuntimeException | AssertionError e) {
+            if (!isStale(element)) {
+                throw e;
+            }
+            stats()[2].increment();
+            logger.debug("[ElementCache] {}: stale reference, retrying with a fresh lookup", pageName);
+            resolved.remove(locator);
+            syncDomVersion();
+        }
+        action.accept(locator);
+    }
+
+    public void invalidate() {
+        resolved.clear();
+    }
+
+    // Cached reference (counted as a hit) or null (counted as a miss); the cache is dropped on navigation
+    private WebElement cachedReference(SelenideElement locator) {
+        long navigations = ActionEpoch.navigations();
+        if (navigations != syncedNavigation) {
+            invalidate();
+            domVersion = -1; // the new document has no observer yet
+            syncedNavigation = navigations;
+        }
+        WebElement element = resolved.get(locator);
+        stats()[element != null ? 0 : 1].increment();
+        return element;
+    }
+
+    // Resolves and caches the locator; the plain locator when it is not on the page yet (Selenide waits as usual)
+    private SelenideElement lookUp(SelenideElement locator) {
+        WebElement element;
+        try {
+            element = locator.toWebElement();
+        } catch (RuntimeException | AssertionError notYetThere) {
+            return locator;
+        }
+        resolved.put(locator, element);
+        return $(element);
+    }
+
+    // A stale reference means the DOM changed: drop every reference if the mutation counter moved
+    private void syncDomVersion() {
+        long version = ((Number) executeJavaScript(DOM_VERSION_SCRIPT)).longValue();
+        if (version < 0 || version != domVersion) {
+            invalidate();
+        }
+        domVersion = version;
+    }
+
+    // Same browser, but a single attempt: a stale or not-yet-ready cached element fails at once
+    private static SelenideDriver failFast() {
+        WebDriver driver = WebDriverRunner.getWebDriver();
+        SelenideDriver failFast = FAIL_FAST.get();
+        if (failFast == null || failFast.getWebDriver() != driver) {
+            SelenideConfig config = new SelenideConfig()
+                    .timeout(0)
+                    .screenshots(false)
+                    .savePageSource(false)
+                    .clickViaJs(Configuration.clickViaJs)
+                    .fastSetValue(Configuration.fastSetValue);
+            failFast = new SelenideDriver(config, driver, null);
+            FAIL_FAST.set(failFast);
+        }
+        return failFast;
+    }
+
+    // Raw WebDriver call: throws at once for a reference to a node that left the DOM
+    private static boolean isStale(WebElement element) {
+        try {
+            element.isEnabled();
+            return false;
+        } catch (StaleElementReferenceException e) {
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private LongAdder[] stats() {
+        return STATS.computeIfAbsent(pageName, p -> new LongAdder[] {new LongAdder(), new LongAdder(), new LongAdder()});
+    }
+
+     // Hit rate per page, e.g. "CheckoutPage hits=12 misses=3 (80%) staleRetries=0"
+
+    public static String report() {
+        if (STATS.isEmpty()) {
+            return "[ElementCache] not used";
+        }
+        StringBuilder report = new StringBuilder("[ElementCache] hit rates:");
+        new TreeMap<>(STATS).forEach((page, s) -> {
+            long hits = s[0].sum();
+            long misses = s[1].sum();
+            long total = hits + misses;
+            report.append(String.format("%n  %s hits=%d misses=%d (%d%%) staleRetries=%d",
+                    page, hits, misses, total == 0 ? 0 : hits * 100 / total, s[2].sum()));
+        });
+        return report.toString();
+    }
+}
@@ -0,0 +1,138 @@
+package com.selenide.utils;
+
+import com.codeborne.selenide.WebDriverRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+ // JourneyCheckpoints - named BrowserCheckpoints shared by every test in the JVM (one per worker).
+ // The first test that asks for a checkpoint walks the journey through the UI and captures it;
+ // every later test restores it in one shot. Build and restore times are logged and summarised by report().
+ // A checkpoint whose cookies expire within "checkpoint.expiryMarginSeconds" (default 60) is rebuilt
+ // instead of restored, and so is one whose restore does not land on the checkpoint URL (after clearing the
+ // browser state it carried). A checkpoint can name a parent: its journey starts where the parent's ends, so
+ // a rebuild first restores (or rebuilds) the parent unless the browser is already there.
+
+public final class JourneyCheckpoints {
+
+    private static final Logger logger = LoggerFactory.getLogger(JourneyCheckpoints.class);
+
+    private static final Map<String, BrowserCheckpoint> CHECKPOINTS = new ConcurrentHashMap<>();
+    private static final Map<String, Timing> TIMINGS = new ConcurrentHashMap<>();
+    // Journeys and parents seen so far, so a dependent checkpoint can rebuild its prerequisite
+    private static final Map<String, Runnable> JOURNEYS = new ConcurrentHashMap<>();
+    private static final Map<String, String> PARENTS = new ConcurrentHashMap<>();
+
+    private JourneyCheckpoints() { /* utility class */ }
+
+
+     // Restores the named checkpoint, or runs 'journey' in the current browser and captures it if it does not exist yet.
+
+    public static void restoreOrBuild(String name, Runnable journey) {
+        restoreOrBuild(name, null, journey);
+    }
+
+
+     // Same for a journey that starts at checkpoint 'parent' (restored or built through its own journey first).
+
+    public static void restoreOrBuild(String name, String parent, Runnable journey) {
+        JOURNEYS.put(name, journey);
+        if (parent != null) {
+            PARENTS.put(name, parent);
+        }
+        Timing timing = TIMINGS.computeIfAbsent(name, k -> new Timing());
+        BrowserCheckpoint checkpoint = CHECKPOINTS.get(name);
+
+        Duration margin = Duration.ofSeconds(ConfigReader.getInt("checkpoint.expiryMarginSeconds", 60));
+        if (checkpoint != null && checkpoint.expiresWithin(margin)) {
+            logger.info("[Checkpoint] '{}' captured at {} has cookies about to expire; rebuilding", name, checkpoint.getCapturedAt());
+            CHECKPOINTS.remove(name, checkpoint);
+            if (parent == null) {
+                BrowserCheckpoint.clearBrowserState();
+            }
+            rebuild(name, parent, journey, timing);
+            return;
+        }
+
+        if (checkpoint == null) {
+            // first build: the caller has put the browser where the journey starts
+            build(name, journey, timing);
+            return;
+        }
+
+        long start = System.nanoTime();
+        checkpoint.restore();
+        if (!checkpoint.isAt(WebDriverRunner.url())) {
+            // e.g. the login was revoked server-side: the app redirected away from the checkpoint page
+            logger.warn("[Checkpoint] Restoring '{}' landed on {} instead of {}; rebuilding",
+                    name, WebDriverRunner.url(), checkpoint.getUrl());
+            CHECKPOINTS.remove(name, checkpoint);
+            timing.rebuilds.incrementAndGet();
+            BrowserCheckpoint.clearBrowserState();
+            rebuild(name, parent, journey, timing);
+            return;
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        timing.restores.incrementAndGet();
+        timing.restoreMillis.addAndGet(millis);
+        logger.info("[Checkpoint] Restored '{}' in {} ms", name, millis);
+    }
+
+    // Rebuild after an expired or failed checkpoint: put the browser at the parent first, then replay the journey
+    private static void rebuild(String name, String parent, Runnable journey, Timing timing) {
+        if (parent != null) {
+            BrowserCheckpoint parentCheckpoint = CHECKPOINTS.get(parent);
+            if (parentCheckpoint == null || !parentCheckpoint.isAt(WebDriverRunner.url())) {
+                Runnable parentJourney = JOURNEYS.get(parent);
+                if (parentJourney == null) {
+                    throw new IllegalStateException("Checkpoint '" + name + "' needs parent '" + parent
+                            + "', which was never requested in this JVM");
+                }
+                restoreOrBuild(parent, PARENTS.get(parent), parentJourney);
+            }
+        }
+        build(name, journey, timing);
+    }
+
+    private static void build(String name, Runnable journey, Timing timing) {
+        long start = System.nanoTime();
+        journey.run();
+        BrowserCheckpoint checkpoint = BrowserCheckpoint.capture(name);
+        CHECKPOINTS.put(name, checkpoint);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        timing.buildMillis.set(millis);
+        logger.info("[Checkpoint] Built '{}' in {} ms at {}", name, millis, checkpoint.getUrl());
+    }
+
+    // Drops a checkpoint so the next request rebuilds it through the UI
+    public static void invalidate(String name) {
+        CHECKPOINTS.remove(name);
+    }
+
+    public static String report() {
+        StringBuilder sb = new StringBuilder("Journey checkpoints:");
+        TIMINGS.forEach((name, t) -> {
+            long restores = t.restores.get();
+            sb.append(String.format("%n  %-24s build %6d ms | restores %4d | avg restore %6d ms | failed restores %3d",
+                    name, t.buildMillis.get(), restores, restores == 0 ? 0 : t.restoreMillis.get() / restores,
+                    t.rebuilds.get()));
+        });
+        return sb.toString();
+    }
+
+    public static boolean isEmpty() {
+        return TIMINGS.isEmpty();
+    }
+
+    private static final class Timing {
+        private final AtomicLong buildMillis = new AtomicLong();
+        private final AtomicLong restores = new AtomicLong();
+        private final AtomicLong restoreMillis = new AtomicLong();
+        private final AtomicLong rebuilds = new AtomicLong();
+    }
+}
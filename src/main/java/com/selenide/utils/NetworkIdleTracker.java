@@ -0,0 +1,111 @@
+package com.selenide.utils;
+
+import com.codeborne.selenide.WebDriverRunner;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.support.events.WebDriverListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+ // NetworkIdleTracker - counts in-flight requests of a browser session from CDP Network events
+ // (requestWillBeSent / loadingFinished / loadingFailed), so "network idle" can be checked
+ // without any WebDriver command. One tracker per driver, installed before the session's first
+ // navigation (see installOnStart) so the first page's requests are seen too.
+ // A main-frame navigation (Page.frameNavigated) forgets the previous document's requests, and a
+ // request in flight for longer than "networkIdle.maxRequestMillis" (default 5000) is ignored, so a
+ // beacon, long-poll or EventSource that never finishes does not hold every later wait to its timeout.
+
+public final class NetworkIdleTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(NetworkIdleTracker.class);
+
+    private static final Map<WebDriver, NetworkIdleTracker> TRACKERS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    // Installs the tracker right before the first page load of a new session
+    private static final WebDriverListener INSTALLER = new WebDriverListener() {
+        @Override
+        public void beforeGet(WebDriver driver, String url) {
+            current();
+        }
+    };
+
+    // requestId -> System.nanoTime() when the request was sent
+    private final Map<String, Long> inFlight = new ConcurrentHashMap<>();
+    private final long maxRequestNanos = ConfigReader.getInt("networkIdle.maxRequestMillis", 5000) * 1_000_000L;
+    private volatile long lastActivityNanos = System.nanoTime();
+
+    private NetworkIdleTracker() { }
+
+
+     // Called from DriverFactory.initDriver: sessions created from now on are tracked from their
+     // first navigation rather than from the first wait (which comes after the triggering click).
+
+    public static void installOnStart() {
+        WebDriverRunner.removeListener(INSTALLER);
+        WebDriverRunner.addListener(INSTALLER);
+    }
+
+
+     // Tracker for the current session; empty when the browser has no CDP support.
+
+    public static Optional<NetworkIdleTracker> current() {
+        Optional<DevTools> devTools = DevToolsSupport.devTools();
+        if (devTools.isEmpty()) {
+            return Optional.empty();
+        }
+        WebDriver driver = DevToolsSupport.currentDriver();
+        return Optional.of(TRACKERS.computeIfAbsent(driver, d -> install(devTools.get())));
+    }
+
+    private static NetworkIdleTracker install(DevTools devTools) {
+        NetworkIdleTracker tracker = new NetworkIdleTracker();
+        devTools.send(DevToolsSupport.command("Network.enable", Map.of()));
+        devTools.addListener(DevToolsSupport.event("Network.requestWillBeSent"), tracker::started);
+        devTools.addListener(DevToolsSupport.event("Network.loadingFinished"), tracker::finished);
+        devTools.addListener(DevToolsSupport.event("Network.loadingFailed"), tracker::finished);
+        devTools.send(DevToolsSupport.command("Page.enable", Map.of()));
+        devTools.addListener(DevToolsSupport.event("Page.frameNavigated"), tracker::frameNavigated);
+        logger.debug("[NetworkIdle] Tracking network activity via CDP");
+        return tracker;
+    }
+
+    private void started(Map<String, Object> params) {
+        long now = System.nanoTime();
+        inFlight.put(String.valueOf(params.get("requestId")), now);
+        lastActivityNanos = now;
+    }
+
+    private void finished(Map<String, Object> params) {
+        inFlight.remove(String.valueOf(params.get("requestId")));
+        lastActivityNanos = System.nanoTime();
+    }
+
+    // A new document in the main frame: requests of the previous one will not report back
+    private void frameNavigated(Map<String, Object> params) {
+        Object frame = params.get("frame");
+        if (frame instanceof Map && ((Map<?, ?>) frame).get("parentId") == null) {
+            inFlight.clear();
+            lastActivityNanos = System.nanoTime();
+        }
+    }
+
+    // True when no request is in flight and none started or finished during the last 'quietMillis'
+    public boolean isIdle(long quietMillis) {
+        long now = System.nanoTime();
+        if (inFlight.values().removeIf(sent -> now - sent > maxRequestNanos)) {
+            logger.debug("[NetworkIdle] Ignoring requests in flight for more than {} ms", maxRequestNanos / 1_000_000);
+        }
+        return inFlight.isEmpty() && now - lastActivityNanos >= quietMillis * 1_000_000L;
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,136 @@
+package com.selenide.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.codeborne.selenide.Selenide.executeJavaScript;
+
+
+ // PageExpectations - a set of Selenide-style conditions on several CSS locators
+ // (visible, text, exactText, attribute, size, css value) evaluated together by one in-browser script.
+ // Waiting on a whole page's expectations therefore costs one WebDriver command per poll,
+ // and a failure lists exactly which sub-conditions did not hold.
+ //
+ //   PageExpectations.on("ProductsPage").visible(".title").text(".title", "Products").minSize(".inventory_item", 1).await();
+
+public final class PageExpectations {
+
+    private static final Logger logger = LoggerFactory.getLogger(PageExpectations.class);
+
+    // Evaluates every spec against the live DOM; returns [ok, actual] per spec.
+    // text() follows Selenide: case-insensitive substring of the visible text.
+    private static final String EVALUATOR =
+            "var specs = arguments[0], out = [];" +
+            "function vis(e) { if (!e) return false; var s = window.getComputedStyle(e);" +
+            "  return s.display !== 'none' && s.visibility !== 'hidden' && e.getClientRects().length > 0; }" +
+            "for (var i = 0; i < specs.length; i++) {" +
+            "  var sp = specs[i], els = document.querySelectorAll(sp.selector), e = els[0], ok = false, actual = null;" +
+            "  switch (sp.kind) {" +
+            "    case 'visible': ok = vis(e); actual = e ? (ok ? 'visible' : 'hidden') : 'missing'; break;" +
+            "    case 'text': actual = e ? e.innerText : null;" +
+            "      ok = actual !== null && actual.toLowerCase().indexOf(sp.expected.toLowerCase()) >= 0; break;" +
+            "    case 'exactText': actual = e ? e.innerText.trim() : null; ok = actual === sp.expected; break;" +
+            "    case 'attribute': actual = e ? e.getAttribute(sp.name) : null; ok = actual === sp.expected; break;" +
+            "    case 'css': actual = e ? window.getComputedStyle(e).getPropertyValue(sp.name) : null;" +
+            "      ok = actual === sp.expected; break;" +
+            "    case 'size': actual = String(els.length); ok = els.length === Number(sp.expected); break;" +
+            "    case 'minSize': actual = String(els.length); ok = els.length >= Number(sp.expected); break;" +
+            "  }" +
+            "  out.push([ok, actual]);" +
+            "}" +
+            "return out;";
+
+    private final String name;
+    private final List<Map<String, Object>> specs = new ArrayList<>();
+    private List<List<Object>> lastResult = Collections.emptyList();
+
+    private PageExpectations(String name) {
+        this.name = name;
+    }
+
+    public static PageExpectations on(String name) {
+        return new PageExpectations(name);
+    }
+
+    public PageExpectations visible(String selector) {
+        return add("visible", selector, null, null);
+    }
+
+    public PageExpectations text(String selector, String expected) {
+        return add("text", selector, null, expected);
+    }
+
+    public PageExpectations exactText(String selector, String expected) {
+        return add("exactText", selector, null, expected);
+    }
+
+    public PageExpectations attribute(String selector, String attribute, String expected) {
+        return add("attribute", selector, attribute, expected);
+    }
+
+    public PageExpectations cssValue(String selector, String property, String expected) {
+        return add("css", selector, property, expected);
+    }
+
+    public PageExpectations size(String selector, int expected) {
+        return add("size", selector, null, String.valueOf(expected));
+    }
+
+    public PageExpectations minSize(String selector, int expected) {
+        return add("minSize", selector, null, String.valueOf(expected));
+    }
+
+    private PageExpectations add(String kind, String selector, String attribute, String expected) {
+        Map<String, Object> spec = new LinkedHashMap<>();
+        spec.put("kind", kind);
+        spec.put("selector", selector);
+        spec.put("name", attribute);
+        spec.put("expected", expected);
+        specs.add(spec);
+        return this;
+    }
+
+
+     // Evaluates all conditions once (one script call). Returns true if every one holds.
+
+    public boolean check() {
+        List<List<Object>> result = executeJavaScript(EVALUATOR, specs);
+        lastResult = result == null ? Collections.emptyList() : result;
+        return lastResult.size() == specs.size()
+                && lastResult.stream().allMatch(r -> Boolean.TRUE.equals(r.get(0)));
+    }
+
+
+     // Polls until all conditions hold; throws AssertionError naming the failed sub-conditions on timeout.
+
+    public void await(Duration timeout) {
+        if (!WaitEngine.await(WaitEngine.ConditionType.SCRIPT, timeout, this::check)) {
+            throw new AssertionError(failureMessage(timeout));
+        }
+        logger.debug("[Expectations] {}: {} condition(s) met after {} poll(s)", name, specs.size(), WaitEngine.lastPolls());
+    }
+
+    private String failureMessage(Duration timeout) {
+        StringBuilder sb = new StringBuilder(name)
+                .append(" expectations not met within ").append(timeout.toMillis()).append(" ms:");
+        for (int i = 0; i < specs.size(); i++) {
+            Map<String, Object> spec = specs.get(i);
+            List<Object> r = i < lastResult.size() ? lastResult.get(i) : List.of(false, "not evaluated");
+            boolean ok = Boolean.TRUE.equals(r.get(0));
+            sb.append(String.format("%n  %s %s(%s%s)%s", ok ? "[ok]  " : "[FAIL]", spec.get("kind"), spec.get("selector"),
+                    spec.get("name") == null ? "" : ", " + spec.get("name"),
+                    spec.get("expected") == null ? "" : " expected '" + spec.get("expected") + "'"));
+            if (!ok) {
+                sb.append(" but was '").append(r.get(1)).append("'");
+            }
+        }
+        return sb.toString();
+    }
+}
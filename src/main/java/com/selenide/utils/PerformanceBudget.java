@@ -0,0 +1,67 @@
+package com.selenide.utils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+ // PerformanceBudget - upper limits for a page's performance metrics (names as in PerformanceCollector.METRICS,
+ // e.g. "lcp", "ttfb", in ms). Each limit can be overridden per environment with config
+ // "budget.<name>.<metric>", e.g. budget.ProductsPage.lcp=2500.
+
+public final class PerformanceBudget {
+
+    private final String name;
+    private final Map<String, Double> limits = new LinkedHashMap<>();
+
+    private PerformanceBudget(String name) {
+        this.name = name;
+    }
+
+    // Whether pages check their budget on every navigation ("budget.enabled", default false)
+    public static boolean isEnforced() {
+        return ConfigReader.getBoolean("budget.enabled", false);
+    }
+
+    // How many measurements (the first plus reloads) must all exceed a budget before it fails
+    public static int attempts() {
+        return Math.max(1, ConfigReader.getInt("budget.attempts", 3));
+    }
+
+    public static PerformanceBudget forPage(String name) {
+        return new PerformanceBudget(name);
+    }
+
+    public PerformanceBudget max(String metric, double limit) {
+        limits.put(metric, limit);
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // The effective limit: config override if present, declared value otherwise
+    public double limit(String metric) {
+        String override = ConfigReader.get("budget." + name + "." + metric, null);
+        return override != null ? Double.parseDouble(override.trim()) : limits.get(metric);
+    }
+
+
+     // One line per exceeded limit, e.g. "lcp: 2450 > budget 2000 (+450, +23%)";
+     // metrics the browser did not report are not checked. Empty when the sample is within budget.
+
+    public List<String> violations(PerformanceSample sample) {
+        List<String> violations = new ArrayList<>();
+        for (String metric : limits.keySet()) {
+            Double actual = sample.get(metric);
+            double limit = limit(metric);
+            if (actual != null && actual > limit) {
+                violations.add(String.format("%s: %.0f > budget %.0f (+%.0f, +%.0f%%)",
+                        metric, actual, limit, actual - limit, (actual - limit) * 100 / limit));
+            }
+        }
+        return violations;
+    }
+}
@@ -0,0 +1,227 @@
+package com.selenide.utils;
+
+import com.codeborne.selenide.WebDriverRunner;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.Allure;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.devtools.DevTools;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.WeakHashMap;
+
+
+ // PerformanceCollector - web performance metrics after each page navigation (BasePage.landed()):
+ // Navigation Timing of the document, resource timing totals, largest contentful paint and
+ // CDP Performance.getMetrics (JS heap, layout count, script duration). "softNavigation" is 1 when the
+ // page was reached by client-side routing: its navigation timings and LCP belong to an earlier URL, so
+ // they are left out of the sample. Resource totals and CDP counters are per sample, i.e. deltas since
+ // the previous sample of the session (the JS heap is a plain reading). Each sample is attached to the
+ // running test and appended as one row to a CSV time series shared by all runs.
+ // Config: perf.enabled (default false), perf.history (default perf-history/metrics.csv).
+
+public final class PerformanceCollector {
+
+    private static final Logger logger = LoggerFactory.getLogger(PerformanceCollector.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // Column order of the CSV time series
+    public static final List<String> METRICS = List.of(
+            "ttfb", "domInteractive", "domContentLoaded", "load", "lcp",
+            "resourceCount", "resourceTransferBytes", "resourceDuration",
+            "jsHeapUsedBytes", "layoutCount", "recalcStyleCount", "scriptDuration", "taskDuration",
+            "softNavigation");
+
+    private static final String CSV_HEADER = "run,timestamp,test,page,url," + String.join(",", METRICS);
+
+    // Async: LCP is only exposed to a buffered PerformanceObserver, so wait one task for its callback.
+    // Resources count from window.__perfMark, the time of the previous sample in this document.
+    private static final String BROWSER_METRICS_SCRIPT =
+            "var done = arguments[arguments.length - 1], lcp = null;" +
+            "function collect() {" +
+            "  var m = {}, nav = performance.getEntriesByType('navigation')[0];" +
+            "  var soft = !!nav && nav.name !== location.href;" +
+            "  m.softNavigation = soft ? 1 : 0;" +
+            "  if (nav && !soft) { m.ttfb = nav.responseStart - nav.requestStart; m.domInteractive = nav.domInteractive;" +
+            "    m.domContentLoaded = nav.domContentLoadedEventEnd; m.load = nav.loadEventEnd; }" +
+            "  var since = window.__perfMark || 0, bytes = 0, dur = 0;" +
+            "  window.__perfMark = performance.now();" +
+            "  var res = performance.getEntriesByType('resource').filter(function (r) { return r.startTime >= since; });" +
+            "  res.forEach(function (r) { bytes += r.transferSize || 0; dur += r.duration; });" +
+            "  m.resourceCount = res.length; m.resourceTransferBytes = bytes; m.resourceDuration = dur;" +
+            "  if (lcp !== null && !soft) m.lcp = lcp;" +
+            "  done(m);" +
+            "}" +
+            "try {" +
+            "  new PerformanceObserver(function (list) {" +
+            "    var e = list.getEntries(); if (e.length) lcp = e[e.length - 1].startTime;" +
+            "  }).observe({type: 'largest-contentful-paint', buffered: true});" +
+            "} catch (e) { }" +
+            "setTimeout(collect, 0);";
+
+    // CDP metric name -> sample metric name
+    private static final Map<String, String> CDP_METRICS = Map.of(
+            "JSHeapUsedSize", "jsHeapUsedBytes",
+            "LayoutCount", "layoutCount",
+            "RecalcStyleCount", "recalcStyleCount",
+            "ScriptDuration", "scriptDuration",
+            "TaskDuration", "taskDuration");
+
+    private static final String RUN_ID = UUID.randomUUID().toString().substring(0, 8);
+    private static final ThreadLocal<String> TEST_NAME = ThreadLocal.withInitial(() -> "unknown");
+    private static final Set<WebDriver> PERFORMANCE_ENABLED = Collections.synchronizedSet(
+            Collections.newSetFromMap(new WeakHashMap<>()));
+    // Last raw CDP counters per session: Performance.getMetrics counts from session start, not per page
+    private static final Map<WebDriver, Map<String, Double>> LAST_CDP_COUNTERS =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private PerformanceCollector() { /* utility class */ }
+
+    public static boolean isEnabled() {
+        return ConfigReader.getBoolean("perf.enabled", false);
+    }
+
+    // Names the test that following samples belong to (set by the JUnit listener)
+    public static void startTest(String testName) {
+        TEST_NAME.set(testName);
+    }
+
+
+     // Navigation hook: measures the page, attaches the sample and appends it to the history.
+     // Returns the sample (null when disabled or unavailable) so checks on the same page can reuse it:
+     // every measure() advances the resource mark and the CDP counter baseline.
+
+    public static PerformanceSample onNavigation(String pageName) {
+        if (!isEnabled() || !WebDriverRunner.hasWebDriverStarted()) {
+            return null;
+        }
+        try {
+            PerformanceSample sample = measure(pageName);
+            record(sample);
+            return sample;
+        } catch (WebDriverException e) {
+            logger.warn("[Perf] Could not collect metrics for {}: {}", pageName, e.getMessage());
+            return null;
+        }
+    }
+
+
+     // Takes one sample of the current page without recording it.
+
+    @SuppressWarnings("unchecked")
+    public static PerformanceSample measure(String pageName) {
+        Map<String, Double> metrics = new LinkedHashMap<>();
+        Map<String, Object> browser = (Map<String, Object>) ((JavascriptExecutor) WebDriverRunner.getWebDriver())
+                .executeAsyncScript(BROWSER_METRICS_SCRIPT);
+        browser.forEach((name, value) -> {
+            if (value instanceof Number) {
+                metrics.put(name, ((Number) value).doubleValue());
+            }
+        });
+        metrics.putAll(cdpMetrics());
+        return new PerformanceSample(TEST_NAME.get(), pageName, WebDriverRunner.url(), System.currentTimeMillis(), metrics);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Double> cdpMetrics() {
+        Optional<DevTools> devTools = DevToolsSupport.devTools();
+        if (devTools.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, Double> metrics = new LinkedHashMap<>();
+        try {
+            WebDriver driver = DevToolsSupport.currentDriver();
+            if (PERFORMANCE_ENABLED.add(driver)) {
+                devTools.get().send(DevToolsSupport.command("Performance.enable", Map.of()));
+            }
+            Map<String, Object> result = devTools.get().send(DevToolsSupport.command("Performance.getMetrics", Map.of()));
+            Map<String, Double> counters = new LinkedHashMap<>();
+            for (Map<String, Object> metric : (List<Map<String, Object>>) result.get("metrics")) {
+                String name = CDP_METRICS.get((String) metric.get("name"));
+                if (name != null) {
+                    double value = ((Number) metric.get("value")).doubleValue();
+                    // CDP durations are in seconds
+                    counters.put(name, name.endsWith("Duration") ? value * 1000 : value);
+                }
+            }
+            Map<String, Double> last = LAST_CDP_COUNTERS.put(driver, counters);
+            counters.forEach((name, value) -> {
+                Double previous = last == null || "jsHeapUsedBytes".equals(name) ? null : last.get(name);
+                // a counter lower than before means the renderer was replaced: it counts from zero again
+                metrics.put(name, previous == null || value < previous ? value : value - previous);
+            });
+        } catch (RuntimeException e) {
+            logger.debug("[Perf] CDP metrics unavailable: {}", e.getMessage());
+        }
+        return metrics;
+    }
+
+    private static void record(PerformanceSample sample) {
+        try {
+            Allure.addAttachment("Performance_" + sample.getPage(), "application/json",
+                    MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(sample), ".json");
+        } catch (IOException e) {
+            logger.warn("[Perf] Could not attach metrics: {}", e.getMessage());
+        }
+        appendHistory(sample);
+        logger.info("[Perf] {} {}", sample.getPage(), sample.getMetrics());
+    }
+
+    private static synchronized void appendHistory(PerformanceSample sample) {
+        Path file = Paths.get(ConfigReader.get("perf.history", "perf-history/metrics.csv"));
+        StringBuilder row = new StringBuilder();
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            if (Files.exists(file) && !CSV_HEADER.equals(firstLine(file))) {
+                // columns changed: keep the old series aside rather than mixing layouts
+                Path old = file.resolveSibling(file.getFileName() + "." + Files.getLastModifiedTime(file).toMillis() + ".old");
+                Files.move(file, old);
+                logger.info("[Perf] Column layout changed; previous history moved to {}", old);
+            }
+            if (!Files.exists(file)) {
+                row.append(CSV_HEADER).append('\n');
+            }
+            row.append(RUN_ID).append(',').append(sample.getTimestamp()).append(',')
+                    .append(csv(sample.getTest())).append(',').append(csv(sample.getPage())).append(',')
+                    .append(csv(sample.getUrl()));
+            for (String metric : METRICS) {
+                Double value = sample.get(metric);
+                row.append(',').append(value == null ? "" : String.format(Locale.ROOT, "%.1f", value));
+            }
+            row.append('\n');
+            Files.write(file, row.toString().getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            logger.warn("[Perf] Could not append to {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static String firstLine(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return reader.readLine();
+        }
+    }
+
+    private static String csv(String value) {
+        return value.contains(",") || value.contains("\"") ? "\"" + value.replace("\"", "\"\"") + "\"" : value;
+    }
+}
@@ -0,0 +1,51 @@
+package com.selenide.utils;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+
+ // PerformanceSample - web performance metrics of one page visit (names as in PerformanceCollector.METRICS),
+ // all in milliseconds, bytes or counts. Missing metrics (e.g. CDP ones on Firefox) are absent.
+
+public final class PerformanceSample {
+
+    private final String test;
+    private final String page;
+    private final String url;
+    private final long timestamp;
+    private final Map<String, Double> metrics;
+
+    PerformanceSample(String test, String page, String url, long timestamp, Map<String, Double> metrics) {
+        this.test = test;
+        this.page = page;
+        this.url = url;
+        this.timestamp = timestamp;
+        this.metrics = Collections.unmodifiableMap(new LinkedHashMap<>(metrics));
+    }
+
+    public String getTest() {
+        return test;
+    }
+
+    public String getPage() {
+        return page;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public Map<String, Double> getMetrics() {
+        return metrics;
+    }
+
+    // The metric's value, or null when the browser did not report it
+    public Double get(String metric) {
+        return metrics.get(metric);
+    }
+}
@@ -0,0 +1,93 @@
+package com.selenide.utils;
+
+import com.codeborne.selenide.WebDriverRunner;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+
+ // PushWait - waits for a JavaScript condition without polling from the JVM.
+ // One executeAsyncScript installs a MutationObserver (plus readystatechange/load listeners) that
+ // calls back the moment the condition becomes true, or when the timeout expires in the browser.
+ // If the page navigates away mid-wait the script is aborted and the remaining time is polled instead.
+
+public final class PushWait {
+
+    private static final Logger logger = LoggerFactory.getLogger(PushWait.class);
+
+    // %s = condition expression; arguments[0] = timeout in ms; last argument = WebDriver callback
+    private static final String SCRIPT_TEMPLATE =
+            "var done = arguments[arguments.length - 1], timeoutMs = arguments[0], finished = false, timer, obs;" +
+            "function test() { try { return !!(%s); } catch (e) { return false; } }" +
+            "function finish(v) { if (finished) return; finished = true; if (obs) obs.disconnect(); clearTimeout(timer);" +
+            "  document.removeEventListener('readystatechange', check); window.removeEventListener('load', check); done(v); }" +
+            "function check() { if (test()) finish(true); }" +
+            "if (test()) { finish(true); return; }" +
+            "obs = new MutationObserver(check);" +
+            "obs.observe(document.documentElement, {childList: true, subtree: true, attributes: true, characterData: true});" +
+            "document.addEventListener('readystatechange', check); window.addEventListener('load', check);" +
+            "timer = setTimeout(function () { finish(test()); }, timeoutMs);";
+
+    // Selenium's default script timeout; only raised when a wait needs longer, then put back
+    private static final Duration DEFAULT_SCRIPT_TIMEOUT = Duration.ofSeconds(30);
+
+    private PushWait() { /* utility class */ }
+
+    // Whether waits that support both modes should use push ("wait.mode=push") or polling (default)
+    public static boolean isEnabled() {
+        return "push".equalsIgnoreCase(ConfigReader.get("wait.mode", "poll"));
+    }
+
+
+     // Blocks until 'condition' (a JavaScript expression) is truthy or 'timeout' expires; one WebDriver call.
+
+    public static boolean await(String condition, Duration timeout) {
+        JavascriptExecutor js = (JavascriptExecutor) WebDriverRunner.getWebDriver();
+        long start = System.nanoTime();
+        Duration previousScriptTimeout = null;
+        if (timeout.plusSeconds(1).compareTo(DEFAULT_SCRIPT_TIMEOUT) > 0) {
+            previousScriptTimeout = scriptTimeout();
+            WebDriverRunner.getWebDriver().manage().timeouts().scriptTimeout(timeout.plusSeconds(1));
+        }
+        try {
+            Object result = js.executeAsyncScript(String.format(SCRIPT_TEMPLATE, condition), timeout.toMillis());
+            WaitTelemetry.record("PUSH", timeout.toNanos(), System.nanoTime() - start, 1, Boolean.TRUE.equals(result));
+            logger.debug("[PushWait] '{}' resolved {} in {} ms", condition, result,
+                    (System.nanoTime() - start) / 1_000_000);
+            return Boolean.TRUE.equals(result);
+        } catch (WebDriverException e) {
+            // Document unloaded while waiting (navigation): poll for whatever time is left
+            Duration left = timeout.minusNanos(System.nanoTime() - start);
+            if (left.isNegative()) {
+                return false;
+            }
+            return WaitEngine.await(WaitEngine.ConditionType.SCRIPT, left,
+                    () -> Boolean.TRUE.equals(js.executeScript("return !!(" + condition + ");")));
+        } finally {
+            if (previousScriptTimeout != null) {
+                restoreScriptTimeout(previousScriptTimeout);
+            }
+        }
+    }
+
+    // Current script timeout; drivers that cannot report it are assumed to use Selenium's default
+    private static Duration scriptTimeout() {
+        try {
+            return WebDriverRunner.getWebDriver().manage().timeouts().getScriptTimeout();
+        } catch (UnsupportedOperationException | WebDriverException e) {
+            return DEFAULT_SCRIPT_TIMEOUT;
+        }
+    }
+
+    private static void restoreScriptTimeout(Duration previous) {
+        try {
+            WebDriverRunner.getWebDriver().manage().timeouts().scriptTimeout(previous);
+        } catch (WebDriverException e) {
+            // session gone: nothing left to restore
+            logger.debug("[PushWait] Could not restore script timeout: {}", e.getMessage());
+        }
+    }
+}
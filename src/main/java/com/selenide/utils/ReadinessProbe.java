@@ -0,0 +1,88 @@
+package com.selenide.utils;
+
+import com.codeborne.selenide.WebDriverRunner;
+import org.openqa.selenium.JavascriptExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+ // ReadinessProbe - checks that a page is ready in a single executeScript per poll:
+ // document.readyState, jQuery.active (when jQuery is present) and the page's own readiness predicate.
+ // Probes are compiled once per page and predicate and keep count of how many polls each wait needed.
+ // With wait.mode=push the same condition is awaited by a MutationObserver in one call (see PushWait).
+
+public final class ReadinessProbe {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadinessProbe.class);
+
+    private static final String CONDITION_TEMPLATE =
+            "document.readyState === 'complete'" +
+            " && (window.jQuery == undefined || window.jQuery.active === 0)" +
+            " && !!(%s)";
+
+    // Keyed by name and predicate: page classes sharing a name may pass different predicates
+    private static final Map<String, ReadinessProbe> PROBES = new ConcurrentHashMap<>();
+
+    // Document-level probe with no page-specific predicate
+    public static final ReadinessProbe DOCUMENT = forPage("document", "true");
+
+    private final String name;
+    private final String predicate;
+    private final String condition;
+    private final String script;
+    private final AtomicLong waits = new AtomicLong();
+    private final AtomicLong probes = new AtomicLong();
+
+    private ReadinessProbe(String name, String predicate) {
+        this.name = name;
+        this.predicate = predicate;
+        this.condition = String.format(CONDITION_TEMPLATE, predicate);
+        this.script = "return " + condition + ";";
+    }
+
+
+     // Returns the probe for a page; 'predicate' is a JavaScript expression that is truthy once the page is ready.
+
+    public static ReadinessProbe forPage(String name, String predicate) {
+        return PROBES.computeIfAbsent(name + '\n' + predicate, k -> new ReadinessProbe(name, predicate));
+    }
+
+
+     // Polls until the page is ready. Returns false on timeout.
+
+    public boolean await(Duration timeout) {
+        long start = System.nanoTime();
+        boolean ready;
+        int count;
+        if (PushWait.isEnabled()) {
+            ready = PushWait.await(condition, timeout);
+            count = 1;
+        } else {
+            ready = WaitEngine.await(WaitEngine.ConditionType.SCRIPT, timeout,
+                    () -> Boolean.TRUE.equals(((JavascriptExecutor) WebDriverRunner.getWebDriver()).executeScript(script)));
+            count = WaitEngine.lastPolls();
+        }
+        waits.incrementAndGet();
+        probes.addAndGet(count);
+        logger.debug("[Readiness] {} {} after {} probe(s) in {} ms", name, ready ? "ready" : "NOT ready",
+                count, (System.nanoTime() - start) / 1_000_000);
+        return ready;
+    }
+
+    public static String report() {
+        StringBuilder sb = new StringBuilder("Readiness probes:");
+        PROBES.values().forEach(p -> {
+            long w = p.waits.get();
+            if (w > 0) {
+                sb.append(String.format("%n  %-20s waits %5d | probes %6d | avg %.1f | %s", p.name, w, p.probes.get(),
+                        (double) p.probes.get() / w, p.predicate));
+            }
+        });
+        return sb.toString();
+    }
+}
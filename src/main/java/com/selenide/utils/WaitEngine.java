@@ -0,0 +1,184 @@
+package com.selenide.utils;
+
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.UnhandledAlertException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+
+ // WaitEngine - the single polling loop behind WaitUtil.
+ // Polls fast at first and backs off exponentially, with one curve per condition type:
+ //   wait.curve.<type>=<initialMillis>,<factor>,<maxMillis>   e.g. wait.curve.element=25,2.0,400
+ // No wait objects are created per call, and every wait records how many polls it needed
+ // (see WaitTelemetry for the per-wait report).
+
+public final class WaitEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(WaitEngine.class);
+
+    public enum ConditionType {
+        ELEMENT(25, 2.0, 400),
+        COLLECTION(25, 2.0, 400),
+        URL(50, 2.0, 500),
+        SCRIPT(25, 1.5, 250),
+        NETWORK(10, 1.5, 100);
+
+        private final long defaultInitial;
+        private final double defaultFactor;
+        private final long defaultMax;
+
+        ConditionType(long defaultInitial, double defaultFactor, long defaultMax) {
+            this.defaultInitial = defaultInitial;
+            this.defaultFactor = defaultFactor;
+            this.defaultMax = defaultMax;
+        }
+    }
+
+    private static final Map<ConditionType, PollingCurve> CURVES = new EnumMap<>(ConditionType.class);
+    private static final Map<ConditionType, Stats> STATS = new EnumMap<>(ConditionType.class);
+
+    // Errors no amount of polling fixes (dead browser, broken script, open alert): rethrown at once.
+    // Same list as Selenide's SelenideElementProxy.shouldRetryAfterError, plus UnreachableBrowserException.
+    private static final List<Class<? extends RuntimeException>> TERMINAL_EXCEPTIONS = List.of(
+            IllegalArgumentException.class, JavascriptException.class, UnhandledAlertException.class,
+            NoSuchSessionException.class, UnsupportedCommandException.class, UnreachableBrowserException.class);
+    private static final String TERMINAL_MESSAGE = "Reached error page: about:neterror";
+
+    // Poll count of the last wait on this thread, for callers that report their own numbers
+    private static final ThreadLocal<int[]> LAST_POLLS = ThreadLocal.withInitial(() -> new int[1]);
+
+    static {
+        for (ConditionType type : ConditionType.values()) {
+            CURVES.put(type, PollingCurve.load(type));
+            STATS.put(type, new Stats());
+        }
+    }
+
+    private WaitEngine() { /* utility class */ }
+
+
+     // Polls 'condition' until it returns true or 'timeout' expires. Exceptions thrown by the
+     // condition (stale or missing elements) count as "not yet"; terminal ones (see isTerminal) are rethrown.
+
+    public static boolean await(ConditionType type, Duration timeout, BooleanSupplier condition) {
+        PollingCurve curve = CURVES.get(type);
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        long interval = curve.initialMillis;
+        int polls = 0;
+        boolean satisfied = false;
+
+        while (true) {
+            polls++;
+            try {
+                satisfied = condition.getAsBoolean();
+            } catch (RuntimeException e) {
+                if (isTerminal(e)) {
+                    STATS.get(type).record(polls, false);
+                    throw e;
+                }
+                satisfied = false;
+            }
+            long now = System.nanoTime();
+            if (satisfied || now >= deadline) {
+                break;
+            }
+            long sleep = Math.min(interval, (deadline - now) / 1_000_000 + 1);
+            try {
+                Thread.sleep(sleep);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            interval = curve.next(interval);
+        }
+
+        LAST_POLLS.get()[0] = polls;
+        STATS.get(type).record(polls, satisfied);
+        WaitTelemetry.record(type.name(), timeout.toNanos(), System.nanoTime() - start, polls, satisfied);
+        logger.debug("[WaitEngine] {} wait {} after {} poll(s) in {} ms", type, satisfied ? "met" : "timed out",
+                polls, (System.nanoTime() - start) / 1_000_000);
+        return satisfied;
+    }
+
+    static boolean isTerminal(RuntimeException e) {
+        String message = e.getMessage() == null ? "" : e.getMessage();
+        if (message.startsWith(TERMINAL_MESSAGE)) {
+            return true;
+        }
+        // a script cut off by a navigation is a transient JavascriptException: the next poll runs in the new document
+        if (e instanceof JavascriptException && message.contains("document unloaded")) {
+            return false;
+        }
+        return TERMINAL_EXCEPTIONS.stream().anyMatch(type -> type.isInstance(e));
+    }
+
+    // Number of polls used by the last wait on the current thread
+    public static int lastPolls() {
+        return LAST_POLLS.get()[0];
+    }
+
+    public static String report() {
+        StringBuilder sb = new StringBuilder("Wait engine polls:");
+        STATS.forEach((type, s) -> {
+            long waits = s.waits.get();
+            if (waits > 0) {
+                sb.append(String.format("%n  %-10s waits %6d | polls %7d | avg %.1f | max %4d | timeouts %4d",
+                        type, waits, s.polls.get(), (double) s.polls.get() / waits, s.maxPolls.get(), s.timeouts.get()));
+            }
+        });
+        return sb.toString();
+    }
+
+    private static final class PollingCurve {
+        private final long initialMillis;
+        private final double factor;
+        private final long maxMillis;
+
+        private PollingCurve(long initialMillis, double factor, long maxMillis) {
+            this.initialMillis = initialMillis;
+            this.factor = factor;
+            this.maxMillis = maxMillis;
+        }
+
+        private long next(long current) {
+            return Math.min(maxMillis, Math.max(current + 1, (long) (current * factor)));
+        }
+
+        private static PollingCurve load(ConditionType type) {
+            String value = ConfigReader.get("wait.curve." + type.name().toLowerCase());
+            if (value == null) {
+                return new PollingCurve(type.defaultInitial, type.defaultFactor, type.defaultMax);
+            }
+            String[] parts = value.split(",");
+            return new PollingCurve(Long.parseLong(parts[0].trim()), Double.parseDouble(parts[1].trim()),
+                    Long.parseLong(parts[2].trim()));
+        }
+    }
+
+    private static final class Stats {
+        private final AtomicLong waits = new AtomicLong();
+        private final AtomicLong polls = new AtomicLong();
+        private final AtomicLong maxPolls = new AtomicLong();
+        private final AtomicLong timeouts = new AtomicLong();
+
+        private void record(int count, boolean satisfied) {
+            waits.incrementAndGet();
+            polls.addAndGet(count);
+            maxPolls.accumulateAndGet(count, Math::max);
+            if (!satisfied) {
+                timeouts.incrementAndGet();
+            }
+        }
+    }
+}
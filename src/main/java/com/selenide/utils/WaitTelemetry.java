@@ -0,0 +1,167 @@
+package com.selenide.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+ // WaitTelemetry - records every wait that goes through WaitEngine / PushWait (and so WaitUtil and BasePage):
+ // actual duration, limit, poll count, outcome and call site (first frame outside the wait utilities).
+ // At the end of the run (BaseTest.globalTeardown, and a shutdown hook for runs outside it) it writes target/wait-report.txt with the slowest waits, waits that used more
+ // than 80% of their timeout, and call sites whose timeout is far more generous than they ever need.
+
+public final class WaitTelemetry {
+
+    private static final Logger logger = LoggerFactory.getLogger(WaitTelemetry.class);
+
+    private static final Path REPORT_FILE = Paths.get("target", "wait-report.txt");
+    private static final int TOP_SLOWEST = 15;
+    private static final int MAX_NEAR_LIMIT = 50;
+    private static final double NEAR_LIMIT_RATIO = 0.8;
+    // A timeout is "too generous" when a call site never needed more than 10% of it over at least 5 waits
+    private static final double GENEROUS_RATIO = 0.1;
+    private static final int GENEROUS_MIN_SAMPLES = 5;
+
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    private static final Map<String, CallSiteStats> BY_CALL_SITE = new ConcurrentHashMap<>();
+    private static final PriorityQueue<WaitRecord> SLOWEST = new PriorityQueue<>(Comparator.comparingLong(r -> r.durationNanos));
+    private static final List<WaitRecord> NEAR_LIMIT = new ArrayList<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(WaitTelemetry::writeReport, "wait-telemetry-report"));
+    }
+
+    private WaitTelemetry() { /* utility class */ }
+
+    public static void record(String kind, long limitNanos, long durationNanos, int polls, boolean satisfied) {
+        WaitRecord r = new WaitRecord(kind, callSite(), limitNanos, durationNanos, polls, satisfied);
+
+        BY_CALL_SITE.computeIfAbsent(r.callSite + " [" + kind + "]", k -> new CallSiteStats()).add(r);
+        synchronized (SLOWEST) {
+            SLOWEST.add(r);
+            if (SLOWEST.size() > TOP_SLOWEST) {
+                SLOWEST.poll();
+            }
+            if (limitNanos > 0 && durationNanos >= limitNanos * NEAR_LIMIT_RATIO && NEAR_LIMIT.size() < MAX_NEAR_LIMIT) {
+                NEAR_LIMIT.add(r);
+            }
+        }
+    }
+
+    // First stack frame outside the wait machinery, e.g. "CheckoutPage.getSuccessMessage:131"
+    private static String callSite() {
+        return WALKER.walk(frames -> frames
+                .filter(f -> !f.getClassName().startsWith("com.selenide.utils.")
+                        && !f.getClassName().equals("com.selenide.base.BasePage"))
+                .findFirst()
+                .map(f -> f.getClassName().substring(f.getClassName().lastIndexOf('.') + 1)
+                        + "." + f.getMethodName() + ":" + f.getLineNumber())
+                .orElse("unknown"));
+    }
+
+    public static String report() {
+        StringBuilder sb = new StringBuilder("=== Wait telemetry ===");
+        List<WaitRecord> slowest;
+        List<WaitRecord> nearLimit;
+        synchronized (SLOWEST) {
+            slowest = new ArrayList<>(SLOWEST);
+            nearLimit = new ArrayList<>(NEAR_LIMIT);
+        }
+        slowest.sort(Comparator.comparingLong((WaitRecord r) -> r.durationNanos).reversed());
+
+        sb.append(String.format("%nSlowest waits:"));
+        slowest.forEach(r -> sb.append("\n  ").append(r));
+
+        sb.append(String.format("%nWaits above %d%% of their timeout (%d):", (int) (NEAR_LIMIT_RATIO * 100), nearLimit.size()));
+        nearLimit.forEach(r -> sb.append("\n  ").append(r));
+
+        sb.append(String.format("%nTimeouts much too generous (max used < %d%% over >= %d waits):",
+                (int) (GENEROUS_RATIO * 100), GENEROUS_MIN_SAMPLES));
+        BY_CALL_SITE.forEach((site, s) -> {
+            String line = s.generousLine(site);
+            if (line != null) {
+                sb.append(line);
+            }
+        });
+        return sb.toString();
+    }
+
+    // Writes target/wait-report.txt; called again by the shutdown hook, which just rewrites the file
+    public static void writeReport() {
+        if (BY_CALL_SITE.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(REPORT_FILE.getParent());
+            Files.write(REPORT_FILE, report().getBytes(StandardCharsets.UTF_8));
+            logger.info("Wait report written to {}", REPORT_FILE.toAbsolutePath());
+        } catch (IOException e) {
+            logger.warn("Could not write wait report: {}", e.getMessage());
+        }
+    }
+
+    private static final class WaitRecord {
+        private final String kind;
+        private final String callSite;
+        private final long limitNanos;
+        private final long durationNanos;
+        private final int polls;
+        private final boolean satisfied;
+
+        private WaitRecord(String kind, String callSite, long limitNanos, long durationNanos, int polls, boolean satisfied) {
+            this.kind = kind;
+            this.callSite = callSite;
+            this.limitNanos = limitNanos;
+            this.durationNanos = durationNanos;
+            this.polls = polls;
+            this.satisfied = satisfied;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%6d / %6d ms (%3d%%) | %3d polls | %-9s | %-10s | %s",
+                    durationNanos / 1_000_000, limitNanos / 1_000_000,
+                    limitNanos == 0 ? 0 : durationNanos * 100 / limitNanos,
+                    polls, satisfied ? "met" : "TIMEOUT", kind, callSite);
+        }
+    }
+
+    private static final class CallSiteStats {
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+        private long limitNanos;
+        private long timeouts;
+
+        private synchronized void add(WaitRecord r) {
+            count++;
+            totalNanos += r.durationNanos;
+            maxNanos = Math.max(maxNanos, r.durationNanos);
+            limitNanos = Math.max(limitNanos, r.limitNanos);
+            if (!r.satisfied) {
+                timeouts++;
+            }
+        }
+
+        // Report line when the timeout is much too generous, otherwise null; reads under the writers' lock
+        private synchronized String generousLine(String site) {
+            if (count < GENEROUS_MIN_SAMPLES || timeouts > 0 || maxNanos >= limitNanos * GENEROUS_RATIO) {
+                return null;
+            }
+            return String.format("%n  %-60s limit %6d ms | max %5d ms | avg %5d ms | waits %d",
+                    site, limitNanos / 1_000_000, maxNanos / 1_000_000, totalNanos / count / 1_000_000, count);
+        }
+    }
+}
@@ -1,26 +1,22 @@
 package com.selenide.utils;
 
 
-import com.codeborne.selenide.CollectionCondition;
 import com.codeborne.selenide.Condition;
 import com.codeborne.selenide.SelenideElement;
 import com.codeborne.selenide.WebDriverRunner;
+import com.codeborne.selenide.WebElementCondition;
+import com.selenide.utils.WaitEngine.ConditionType;
 import org.openqa.selenium.By;
-import org.openqa.selenium.JavascriptExecutor;
-import org.openqa.selenium.TimeoutException;
-import org.openqa.selenium.support.ui.ExpectedCondition;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
-import java.util.List;
-import java.util.Map;
+import java.util.Optional;
 
 import static com.codeborne.selenide.Selenide.$$;
-import static com.codeborne.selenide.Selenide.executeJavaScript;
 
 
  // WaitUtil - small utility wrapper around common wait patterns.
- // Uses Selenide's Condition waits where possible and Selenium's WebDriverWait for URL/JS conditions.
+ // Every wait runs on the shared WaitEngine (adaptive polling, poll counts per wait);
+ // conditions are Selenide's non-waiting checks (is/has), so each poll is a single check.
 
 public final class WaitUtil {
 
@@ -39,18 +35,22 @@ public final class WaitUtil {
 
 
 
+    // The configured "timeout", for waits that go to WaitEngine directly
+    public static Duration defaultTimeout() {
+        return durationOrDefault(null);
+    }
+
     // Waits until the element is visible and returns it (throws RuntimeException on timeout).
     public static SelenideElement waitForVisibility(SelenideElement element) {
         return waitForVisibility(element, null);
     }
 
     public static SelenideElement waitForVisibility(SelenideElement element, Integer timeoutSeconds) {
-        try {
-            element.shouldBe(Condition.visible, durationOrDefault(timeoutSeconds));
-            return element;
-        } catch (AssertionError e) {
-            throw new RuntimeException("Element was not visible within timeout", e);
+        if (!WaitEngine.await(ConditionType.ELEMENT, durationOrDefault(timeoutSeconds),
+                () -> element.is(Condition.visible))) {
+            throw new RuntimeException("Element was not visible within timeout", failureOf(element, Condition.visible));
         }
+        return element;
     }
 
     // Waits until the element is visible and enabled (clickable) and returns it.
@@ -59,14 +59,12 @@ public final class WaitUtil {
     }
 
     public static SelenideElement waitForClickable(SelenideElement element, Integer timeoutSeconds) {
-        Duration d = durationOrDefault(timeoutSeconds);
-        try {
-            element.shouldBe(Condition.visible, d);
-            element.shouldBe(Condition.enabled, d);
-            return element;
-        } catch (AssertionError e) {
-            throw new RuntimeException("Element was not clickable within timeout", e);
+        if (!WaitEngine.await(ConditionType.ELEMENT, durationOrDefault(timeoutSeconds),
+                () -> element.is(Condition.visible) && element.is(Condition.enabled))) {
+            throw new RuntimeException("Element was not clickable within timeout",
+                    failureOf(element, Condition.and("clickable", Condition.visible, Condition.enabled)));
         }
+        return element;
     }
 
 
@@ -76,12 +74,8 @@ public final class WaitUtil {
     }
 
     public static boolean waitForText(SelenideElement element, String text, Integer timeoutSeconds) {
-        try {
-            element.shouldHave(Condition.text(text), durationOrDefault(timeoutSeconds));
-            return true;
-        } catch (AssertionError e) {
-            return false;
-        }
+        return WaitEngine.await(ConditionType.ELEMENT, durationOrDefault(timeoutSeconds),
+                () -> element.has(Condition.text(text)));
     }
 
     // Waits until the element has the given attribute value.
@@ -90,12 +84,8 @@ public final class WaitUtil {
     }
 
     public static boolean waitForAttribute(SelenideElement element, String attribute, String value, Integer timeoutSeconds) {
-        try {
-            element.shouldHave(Condition.attribute(attribute, value), durationOrDefault(timeoutSeconds));
-            return true;
-        } catch (AssertionError e) {
-            return false;
-        }
+        return WaitEngine.await(ConditionType.ELEMENT, durationOrDefault(timeoutSeconds),
+                () -> element.has(Condition.attribute(attribute, value)));
     }
 
     // Waits until the element has the specified CSS value.
@@ -104,12 +94,8 @@ public final class WaitUtil {
     }
 
     public static boolean waitForCssValue(SelenideElement element, String cssProperty, String expectedValue, Integer timeoutSeconds) {
-        try {
-            element.shouldHave(Condition.cssValue(cssProperty, expectedValue), durationOrDefault(timeoutSeconds));
-            return true;
-        } catch (AssertionError e) {
-            return false;
-        }
+        return WaitEngine.await(ConditionType.ELEMENT, durationOrDefault(timeoutSeconds),
+                () -> element.has(Condition.cssValue(cssProperty, expectedValue)));
     }
 
 
@@ -122,12 +108,8 @@ public final class WaitUtil {
     }
 
     public static boolean waitForNumberOfElements(By locator, int expectedCount, Integer timeoutSeconds) {
-        try {
-            $$(locator).shouldHave(CollectionCondition.size(expectedCount), durationOrDefault(timeoutSeconds));
-            return true;
-        } catch (AssertionError e) {
-            return false;
-        }
+        return WaitEngine.await(ConditionType.COLLECTION, durationOrDefault(timeoutSeconds),
+                () -> $$(locator).size() == expectedCount);
     }
 
 
@@ -138,12 +120,8 @@ public final class WaitUtil {
     }
 
     public static boolean waitForAtLeastOne(By locator, Integer timeoutSeconds) {
-        try {
-            $$(locator).shouldHave(CollectionCondition.sizeGreaterThan(0), durationOrDefault(timeoutSeconds));
-            return true;
-        } catch (AssertionError e) {
-            return false;
-        }
+        return WaitEngine.await(ConditionType.COLLECTION, durationOrDefault(timeoutSeconds),
+                () -> !$$(locator).isEmpty());
     }
 
     // Waits until the element disappears (is not present or not visible).
@@ -152,12 +130,8 @@ public final class WaitUtil {
     }
 
     public static boolean waitForElementToDisappear(SelenideElement element, Integer timeoutSeconds) {
-        try {
-            element.should(Condition.disappear, durationOrDefault(timeoutSeconds));
-            return true;
-        } catch (AssertionError e) {
-            return false;
-        }
+        return WaitEngine.await(ConditionType.ELEMENT, durationOrDefault(timeoutSeconds),
+                () -> element.is(Condition.disappear));
     }
 
      // Waits until the current URL contains the provided substring.
@@ -168,41 +142,83 @@ public final class WaitUtil {
     }
 
     public static boolean waitForUrlContains(String substring, Integer timeoutSeconds) {
-        try {
-            WebDriverWait wait = new WebDriverWait(WebDriverRunner.getWebDriver(), durationOrDefault(timeoutSeconds));
-            return wait.until((ExpectedCondition<Boolean>) driver -> driver.getCurrentUrl().contains(substring));
-        } catch (TimeoutException e) {
-            return false;
-        }
+        return WaitEngine.await(ConditionType.URL, durationOrDefault(timeoutSeconds),
+                () -> WebDriverRunner.url().contains(substring));
     }
 
 
      // Waits for document.readyState === 'complete' and (if jQuery present) jQuery.active === 0.
-     // Useful for AJAX-heavy pages.
+     // Both are checked by one script per poll (see ReadinessProbe).
 
     public static boolean waitForAjaxComplete() {
         return waitForAjaxComplete(null);
     }
 
     public static boolean waitForAjaxComplete(Integer timeoutSeconds) {
-        try {
-            WebDriverWait wait = new WebDriverWait(WebDriverRunner.getWebDriver(), durationOrDefault(timeoutSeconds));
-            return wait.until(driver -> {
-                Object readyState = ((JavascriptExecutor) driver).executeScript("return document.readyState");
-                boolean ready = "complete".equals(readyState);
-
-                Object jqueryActive = null;
-                try {
-                    jqueryActive = ((JavascriptExecutor) driver)
-                            .executeScript("return (window.jQuery == undefined) ? 0 : window.jQuery.active");
-                } catch (Exception ignored) { /* ignore if jQuery not present */ }
-
-                boolean jqueryOk = jqueryActive == null || Long.valueOf(0).equals(((Number) jqueryActive).longValue());
-                return ready && jqueryOk;
-            });
-        } catch (TimeoutException e) {
-            return false;
+        return ReadinessProbe.DOCUMENT.await(durationOrDefault(timeoutSeconds));
+    }
+
+
+     // Waits until the document is complete and the page's readiness predicate (a JS expression) holds.
+
+    public static boolean waitForPageReady(String pageName, String readinessPredicate) {
+        return waitForPageReady(pageName, readinessPredicate, null);
+    }
+
+    public static boolean waitForPageReady(String pageName, String readinessPredicate, Integer timeoutSeconds) {
+        return ReadinessProbe.forPage(pageName, readinessPredicate).await(durationOrDefault(timeoutSeconds));
+    }
+
+     // Push-based waits: a MutationObserver inside the page resolves the wait as soon as the DOM
+     // satisfies the condition, so the JVM makes one blocking call instead of repeated polls.
+     // 'condition' is a JavaScript expression, e.g. "document.querySelector('.shopping_cart_badge')".
+
+    public static boolean waitForMutation(String condition) {
+        return waitForMutation(condition, null);
+    }
+
+    public static boolean waitForMutation(String condition, Integer timeoutSeconds) {
+        return PushWait.await(condition, durationOrDefault(timeoutSeconds));
+    }
+
+    // Waits (push-based) until the first element matching the CSS selector contains the text.
+    public static boolean waitForTextByMutation(String cssSelector, String text) {
+        return waitForMutation("(function () { var e = document.querySelector(" + jsString(cssSelector) + ");"
+                + " return e !== null && e.innerText.indexOf(" + jsString(text) + ") >= 0; })()");
+    }
+
+    // Waits (push-based) until an element matching the CSS selector exists.
+    public static boolean waitForPresenceByMutation(String cssSelector) {
+        return waitForMutation("document.querySelector(" + jsString(cssSelector) + ") !== null");
+    }
+
+     // Waits until every condition in the batch holds; all of them are evaluated by one script per poll.
+     // Throws AssertionError listing the failed sub-conditions on timeout.
+
+    public static void waitForAll(PageExpectations expectations) {
+        waitForAll(expectations, null);
+    }
+
+    public static void waitForAll(PageExpectations expectations, Integer timeoutSeconds) {
+        expectations.await(durationOrDefault(timeoutSeconds));
+    }
+
+     // Waits until the page has had no network requests in flight for a quiet window
+     // (config "networkIdle.quietMillis", default 50). Tracks Fetch/XHR and every other request
+     // through CDP Network events, so each poll is free of WebDriver commands.
+     // Falls back to waitForAjaxComplete on browsers without CDP.
+
+    public static boolean waitForNetworkIdle() {
+        return waitForNetworkIdle(ConfigReader.getInt("networkIdle.quietMillis", 50), null);
+    }
+
+    public static boolean waitForNetworkIdle(long quietMillis, Integer timeoutSeconds) {
+        Optional<NetworkIdleTracker> tracker = NetworkIdleTracker.current();
+        if (tracker.isEmpty()) {
+            return waitForAjaxComplete(timeoutSeconds);
         }
+        return WaitEngine.await(ConditionType.NETWORK, durationOrDefault(timeoutSeconds),
+                () -> tracker.get().isIdle(quietMillis));
     }
 
     // Convenience: wait for the element located by locator to be visible and return it.
@@ -214,4 +230,18 @@ public final class WaitUtil {
         SelenideElement el = $$(locator).first();
         return waitForVisibility(el, timeoutSeconds);
     }
+
+    // Selenide's own error for a condition that did not hold, used as the cause of timeout exceptions
+    private static Throwable failureOf(SelenideElement element, WebElementCondition condition) {
+        try {
+            element.should(condition, Duration.ZERO);
+            return null;
+        } catch (AssertionError e) {
+            return e;
+        }
+    }
+
+    private static String jsString(String value) {
+        return "'" + value.replace("\\", "\\\\").replace("'", "\\'") + "'";
+    }
 }
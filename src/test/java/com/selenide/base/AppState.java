@@ -0,0 +1,46 @@
+package com.selenide.base;
+
+/**
+ * AppState: the saucedemo states a test can start from or leave behind.
+ * {@link #setupSteps} is the number of UI steps needed to reach the state from a fresh browser.
+ */
+public enum AppState {
+
+    LOGGED_OUT(1, false, false),          // open login page
+    LOGGED_IN(2, true, false),            // + login (inventory, empty cart)
+    CART_WITH_ITEMS(3, true, true);       // + add products
+
+    private final int setupSteps;
+    private final boolean loggedIn;
+    private final boolean cartHasItems;
+
+    AppState(int setupSteps, boolean loggedIn, boolean cartHasItems) {
+        this.setupSteps = setupSteps;
+        this.loggedIn = loggedIn;
+        this.cartHasItems = cartHasItems;
+    }
+
+    public int setupSteps() {
+        return setupSteps;
+    }
+
+    public boolean isLoggedIn() {
+        return loggedIn;
+    }
+
+    public boolean hasCartItems() {
+        return cartHasItems;
+    }
+
+    // Steps to move from this state to 'target' within the same browser session
+    public int stepsTo(AppState target) {
+        if (target == this) {
+            return 0;
+        }
+        if (target.ordinal() > ordinal()) {
+            return target.setupSteps - setupSteps;
+        }
+        // Going back is a single reset: log out, clear the cart or reopen the inventory
+        return 1;
+    }
+}
@@ -1,18 +1,36 @@
 package com.selenide.base;
 
 import com.codeborne.selenide.Configuration;
+import com.codeborne.selenide.Selenide;
 import com.codeborne.selenide.WebDriverRunner;
+import com.selenide.listener.ArtifactPipeline;
 import com.selenide.listener.JUnitlistener;
+import com.selenide.listener.StepRecorder;
+import com.selenide.utils.CartState;
 import com.selenide.utils.ConfigReader;
 import com.selenide.utils.DriverFactory;
+import com.selenide.utils.ElementCache;
+import com.selenide.utils.JourneyCheckpoints;
+import com.selenide.utils.ReadinessProbe;
+import com.selenide.utils.WaitEngine;
+import com.selenide.utils.WaitTelemetry;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.RegisterExtension;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static com.codeborne.selenide.Selenide.open;
+
 /**
  * BaseTest: complete setup and teardown for all tests.
  * Guarantees WebDriver per test and integrates JUnitListener for screenshots.
+ * Classes annotated with {@link SharedSession} keep one browser and login for all their tests.
  */
 public abstract class BaseTest {
 
@@ -22,6 +40,13 @@ public abstract class BaseTest {
     @RegisterExtension
     public static JUnitlistener JUNIT_LISTENER = new JUnitlistener();
 
+    // Runs after the subclass @BeforeEach (login), right before the test method
+    @RegisterExtension
+    final BeforeTestExecutionCallback startState = this::establishStartState;
+
+    // Cart seeded for tests that declare start = CART_WITH_ITEMS and find the cart empty
+    private static final List<String> START_CART = List.of("Sauce Labs Backpack");
+
     @BeforeAll
     public static void globalSetup() {
         logger.info("=== Test Suite Initialization Started ===");
@@ -43,14 +68,42 @@ public abstract class BaseTest {
         logger.info("=== Test Suite Initialization Complete ===");
     }
 
+    // true when the current test continues a logged-in session shared with previous tests
+    private boolean sessionReused;
+
     @BeforeEach
     public void setUp(TestInfo testInfo) {
         logger.info("=== Starting Test: {} ===", testInfo.getDisplayName());
+        SharedSession shared = getClass().getAnnotation(SharedSession.class);
+        sessionReused = false;
+
+        if (shared != null && WebDriverRunner.hasWebDriverStarted()) {
+            // Cheap reset: back to the landing page, still logged in
+            open(shared.landingPage());
+            sessionReused = WebDriverRunner.url().contains(shared.landingPage());
+            logger.info("Shared session {}", sessionReused ? "reused" : "lost, logging in again");
+            return;
+        }
         DriverFactory.initDriver(); // new driver per test
     }
 
     @AfterEach
-    public void tearDown() {
+    public void tearDown(TestInfo testInfo) {
+        boolean shared = getClass().isAnnotationPresent(SharedSession.class);
+
+        if (shared) {
+            AppState declaredEnd = testInfo.getTestMethod()
+                    .map(m -> m.getAnnotation(RequiresState.class))
+                    .map(RequiresState::end)
+                    .orElse(AppState.LOGGED_IN);
+            assertNoStateLeak(testInfo, declaredEnd);
+            if (declaredEnd.hasCartItems()) {
+                CartState.clear(); // cheap transition back to an empty cart
+            }
+            logger.info("=== Test Cleaned Up (session kept) ===");
+            return;
+        }
+
         // Quit driver after listener has processed failure
         if (WebDriverRunner.hasWebDriverStarted()) {
             DriverFactory.quitDriver();
@@ -60,6 +113,83 @@ public abstract class BaseTest {
 
     @AfterAll
     public static void globalTeardown() {
+        // Closes the browser kept by a @SharedSession class
+        DriverFactory.quitDriver();
+        ArtifactPipeline.drain(Duration.ofSeconds(30));
+        logger.info(ArtifactPipeline.screenshotReport());
+        logger.info(StepRecorder.report());
+        if (!JourneyCheckpoints.isEmpty()) {
+            logger.info(JourneyCheckpoints.report());
+        }
+        logger.info(ReadinessProbe.report());
+        logger.info(WaitEngine.report());
+        WaitTelemetry.writeReport();
+        if (ElementCache.isEnabled()) {
+            logger.info(ElementCache.report());
+        }
         logger.info("=== Test Suite Execution Finished ===");
     }
+
+    // Lets subclasses skip their login when the shared session is still logged in
+    protected boolean isSessionReused() {
+        return sessionReused;
+    }
+
+    // Fails the test if it left the cart or session in a different state than it declared
+    private void assertNoStateLeak(TestInfo testInfo, AppState declaredEnd) {
+        if (!WebDriverRunner.hasWebDriverStarted()) {
+            return;
+        }
+        List<String> cart = CartState.read();
+        boolean cartDirty = !cart.isEmpty() && !declaredEnd.hasCartItems();
+        boolean loggedOut = WebDriverRunner.getWebDriver().manage().getCookieNamed("session-username") == null;
+        boolean sessionDirty = loggedOut == declaredEnd.isLoggedIn();
+
+        if (cartDirty || sessionDirty) {
+            // Drop the polluted session so the following tests are not affected
+            DriverFactory.quitDriver();
+            throw new AssertionError("State leak in shared session after '" + testInfo.getDisplayName() + "': "
+                    + (cartDirty ? "cart contains " + cart + " " : "")
+                    + (sessionDirty ? "user is " + (loggedOut ? "logged out " : "still logged in ") : "")
+                    + "(declared end state " + declaredEnd + ") "
+                    + "- clean up in the test or declare its end state with @RequiresState");
+        }
+    }
+
+    // Moves the session into the test's declared start state, or fails when it cannot: a test must not
+    // run from wherever the previous one (or a dropped session) left the browser. Applies to tests with
+    // @RequiresState and to every test of a @SharedSession class (default start LOGGED_IN).
+    private void establishStartState(ExtensionContext context) {
+        Optional<RequiresState> declared = context.getTestMethod().map(m -> m.getAnnotation(RequiresState.class));
+        if ((declared.isEmpty() && !getClass().isAnnotationPresent(SharedSession.class))
+                || !WebDriverRunner.hasWebDriverStarted()) {
+            return;
+        }
+        AppState start = declared.map(RequiresState::start).orElse(AppState.LOGGED_IN);
+        boolean loggedIn = WebDriverRunner.getWebDriver().manage().getCookieNamed("session-username") != null;
+
+        if (loggedIn && !start.isLoggedIn()) {
+            WebDriverRunner.getWebDriver().manage().deleteAllCookies();
+            Selenide.clearBrowserLocalStorage();
+            open("/");
+            logger.info("Start state {}: logged out", start);
+            return;
+        }
+        if (!loggedIn && start.isLoggedIn()) {
+            throw new AssertionError("'" + context.getDisplayName() + "' requires start state " + start
+                    + " but the session is logged out - log in in @BeforeEach");
+        }
+        if (!start.isLoggedIn()) {
+            return;
+        }
+        boolean cartEmpty = CartState.isEmpty();
+        if (start.hasCartItems() && cartEmpty) {
+            CartState.seed(START_CART);
+            logger.info("Start state {}: seeded cart with {}", start, START_CART);
+        } else if (!start.hasCartItems() && !cartEmpty) {
+            CartState.clear();
+            Selenide.refresh();
+            logger.info("Start state {}: cleared cart", start);
+        }
+    }
 }
@@ -0,0 +1,106 @@
+package com.selenide.base;
+
+import com.selenide.listener.JUnitlistener;
+import com.selenide.listener.StepRecorder;
+import com.selenide.utils.ConfigReader;
+import com.selenide.utils.DriverFactory;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.function.ThrowingConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * FormSweep: runs every row of a form-validation data set inside one browser session.
+ * Use it from a {@code @TestFactory}: each row becomes its own DynamicTest (so failures are
+ * reported per row), but rows only reset the form between them instead of starting a new
+ * browser, logging in and navigating again. The JUnit callbacks only see the factory, so every row
+ * gets its own capture hooks: its steps, screencast, DOM log and HAR are kept for it alone.
+ *
+ * Set {@code sweepMode=false} to rebuild the session for every row (the old isolated behaviour).
+ */
+public final class FormSweep<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(FormSweep.class);
+
+    private final List<T> rows;
+    private final Function<T, String> rowName;
+    private Runnable reset = () -> { };
+    private Runnable rebuild = () -> { };
+
+    private FormSweep(List<T> rows, Function<T, String> rowName) {
+        this.rows = rows;
+        this.rowName = rowName;
+    }
+
+    public static <T> FormSweep<T> of(List<T> rows, Function<T, String> rowName) {
+        return new FormSweep<>(rows, rowName);
+    }
+
+    // Whether rows share one session; system property / config key "sweepMode" (default true)
+    public static boolean isSweepMode() {
+        return ConfigReader.getBoolean("sweepMode", true);
+    }
+
+    // Cheap reset between rows, e.g. clear the fields and close the error message
+    public FormSweep<T> resetWith(Runnable reset) {
+        this.reset = reset;
+        return this;
+    }
+
+    // How to reach the form from a fresh browser (used in isolated mode, or when the reset fails)
+    public FormSweep<T> rebuildWith(Runnable rebuild) {
+        this.rebuild = rebuild;
+        return this;
+    }
+
+    public Stream<DynamicTest> run(ThrowingConsumer<T> body) {
+        boolean sweep = isSweepMode();
+        return IntStream.range(0, rows.size()).mapToObj(i -> {
+            T row = rows.get(i);
+            String name = rowName.apply(row);
+            return DynamicTest.dynamicTest(name, () -> {
+                long start = System.nanoTime();
+                String testName = name.replaceAll("[^a-zA-Z0-9._-]", "_");
+                if (i > 0) {
+                    // the first row keeps the factory's @BeforeEach steps that led to it
+                    StepRecorder.reset();
+                }
+                JUnitlistener.startCapture(testName, Optional.empty());
+                try {
+                    if (i > 0) {
+                        prepareRow(sweep);
+                    }
+                    body.accept(row);
+                    JUnitlistener.capturePassed(testName);
+                } catch (Throwable t) {
+                    // DynamicTests are not seen by the TestWatcher, so capture the failure per row
+                    JUnitlistener.captureFailed(testName, t);
+                    throw t;
+                } finally {
+                    logger.info("[FormSweep] Row '{}' finished in {} ms ({} mode)", name,
+                            (System.nanoTime() - start) / 1_000_000, sweep ? "sweep" : "isolated");
+                }
+            });
+        });
+    }
+
+    private void prepareRow(boolean sweep) {
+        if (sweep) {
+            try {
+                reset.run();
+                return;
+            } catch (RuntimeException | AssertionError e) {
+                logger.warn("[FormSweep] Form reset failed, rebuilding session: {}", e.getMessage());
+            }
+        }
+        DriverFactory.quitDriver();
+        DriverFactory.initDriver();
+        rebuild.run();
+    }
+}
@@ -0,0 +1,21 @@
+package com.selenide.base;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * RecordNetwork: records a HAR of the test's network traffic and attaches it to the Allure report
+ * even when the test passes. Without the annotation a HAR is only recorded when {@code har.enabled}
+ * is set, and only attached for failed tests.
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface RecordNetwork {
+
+    // Regex on the response MIME type for bodies to capture; empty = config "har.bodyMimeTypes"
+    String bodies() default "";
+}
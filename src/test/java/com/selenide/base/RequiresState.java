@@ -0,0 +1,21 @@
+package com.selenide.base;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * RequiresState: declares the state a test needs to start from and the state it leaves behind.
+ * Used by {@link StateGraphOrderer} to order tests, and by BaseTest to establish the start state
+ * before the test (seeding or clearing the cart, dropping the login) and, in a {@link SharedSession},
+ * to check and reset the state after it. Tests without it are treated as LOGGED_IN → LOGGED_IN.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface RequiresState {
+
+    AppState start() default AppState.LOGGED_IN;
+
+    AppState end() default AppState.LOGGED_IN;
+}
@@ -0,0 +1,22 @@
+package com.selenide.base;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * SharedSession: keeps one browser and one login for the whole test class.
+ * Between test methods BaseTest only navigates back to {@link #landingPage()} and checks
+ * that the previous test did not leave the cart or session dirty.
+ * Tests that intentionally change that state must declare it with {@link RequiresState}.
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface SharedSession {
+
+    // Page every test starts from once the session is logged in
+    String landingPage() default "/inventory.html";
+}
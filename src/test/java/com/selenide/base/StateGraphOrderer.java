@@ -0,0 +1,66 @@
+package com.selenide.base;
+
+import org.junit.jupiter.api.MethodDescriptor;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.MethodOrdererContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * StateGraphOrderer: orders tests by their declared {@link RequiresState} so that, in a reused
+ * session, each test starts as close as possible to where the previous one ended.
+ * Greedy: from a fresh browser, always pick the test with the cheapest transition, preferring
+ * tests that leave the state unchanged so e.g. all "logged in, empty cart" tests run back to back.
+ * Logs how many setup steps this saves compared with isolated execution.
+ */
+public class StateGraphOrderer implements MethodOrderer {
+
+    private static final Logger logger = LoggerFactory.getLogger(StateGraphOrderer.class);
+
+    @Override
+    public void orderMethods(MethodOrdererContext context) {
+        List<MethodDescriptor> remaining = new ArrayList<>(context.getMethodDescriptors());
+        remaining.sort(Comparator.comparing(m -> m.getMethod().getName()));
+        List<MethodDescriptor> ordered = new ArrayList<>(remaining.size());
+
+        AppState current = AppState.LOGGED_OUT;
+        int isolatedSteps = 0;
+        int scheduledSteps = 0;
+
+        while (!remaining.isEmpty()) {
+            MethodDescriptor next = null;
+            int bestCost = Integer.MAX_VALUE;
+            for (MethodDescriptor candidate : remaining) {
+                int cost = current.stepsTo(start(candidate)) * 2
+                        + (start(candidate) == end(candidate) ? 0 : 1); // tie-break: state-preserving first
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    next = candidate;
+                }
+            }
+            remaining.remove(next);
+            ordered.add(next);
+
+            isolatedSteps += start(next).setupSteps();
+            scheduledSteps += current.stepsTo(start(next));
+            current = end(next);
+        }
+
+        context.getMethodDescriptors().sort(Comparator.comparingInt(ordered::indexOf));
+        logger.info("[StateGraphOrderer] {}: {} tests, setup steps isolated={} scheduled={} saved={}",
+                context.getTestClass().getSimpleName(), ordered.size(),
+                isolatedSteps, scheduledSteps, isolatedSteps - scheduledSteps);
+    }
+
+    static AppState start(MethodDescriptor method) {
+        return method.findAnnotation(RequiresState.class).map(RequiresState::start).orElse(AppState.LOGGED_IN);
+    }
+
+    static AppState end(MethodDescriptor method) {
+        return method.findAnnotation(RequiresState.class).map(RequiresState::end).orElse(AppState.LOGGED_IN);
+    }
+}
@@ -0,0 +1,51 @@
+package com.selenide.listener;
+
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * DomRecorderTest: a recorded event log (baselines plus diff hunks) rebuilds the exact DOM of every step.
+ * Feeds serialised DOMs to the recording directly; needs no browser.
+ */
+@Epic("Framework")
+@Feature("DOM Recording")
+public class DomRecorderTest {
+
+    private static final List<String> LOGIN = List.of("<html>", "  <body>", "    <input id=\"user-name\">", "    <input id=\"password\">");
+    private static final List<String> LOGIN_TYPED = List.of("<html>", "  <body>", "    <input id=\"user-name\" :value=\"standard_user\">", "    <input id=\"password\">");
+    private static final List<String> INVENTORY = List.of("<html>", "  <body>", "    <div class=\"inventory_item\">", "      \"Sauce Labs Backpack\"");
+    private static final List<String> INVENTORY_ADDED = List.of("<html>", "  <body>", "    <div class=\"inventory_item\">",
+            "      \"Sauce Labs Backpack\"", "    <span class=\"shopping_cart_badge\">", "      \"1\"");
+    private static final List<String> LOGIN_ERROR = List.of("<html>", "  <body>", "    <h3 data-test=\"error\">", "    <input id=\"password\">");
+
+    @Test
+    @Story("Rebuild the DOM at any step")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Record baselines and diffs across two pages and rebuild each step from the saved log")
+    public void testRebuildRoundTrip(@TempDir Path dir) throws IOException {
+        DomRecorder.Recording recording = new DomRecorder.Recording("round_trip");
+        List<List<String>> steps = List.of(LOGIN, LOGIN_TYPED, INVENTORY, INVENTORY_ADDED, INVENTORY_ADDED, LOGIN_ERROR);
+        List<String> pages = List.of("/", "/", "/inventory.html", "/inventory.html", "/inventory.html", "/");
+        for (int i = 0; i < steps.size(); i++) {
+            recording.append("step " + (i + 1), pages.get(i), steps.get(i));
+        }
+
+        Path log = dir.resolve("round_trip.jsonl");
+        Files.write(log, recording.events, StandardCharsets.UTF_8);
+
+        // two baselines, three diffs; the unchanged step 5 writes nothing
+        assertEquals(5, recording.events.size(), "Events recorded");
+        for (int step = 1; step <= steps.size(); step++) {
+            assertEquals(steps.get(step - 1), DomRecorder.rebuild(log, step), "DOM after step " + step);
+        }
+    }
+}
@@ -1,14 +1,32 @@
 package com.selenide.listener;
 
+import com.selenide.base.RecordNetwork;
+import com.selenide.utils.PerformanceCollector;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.TestWatcher;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.slf4j.MDC;
 
 import java.util.Optional;
 
 /**
  * JUnitListener: listens to test results and captures screenshots on failure.
+ * Failure artifacts are taken in {@code afterTestExecution}, which runs before {@code @AfterEach}
+ * quits the driver; the TestWatcher callbacks only run after it.
+ * The static hooks ({@link #startCapture}, {@link #capturePassed}, {@link #captureFailed}) are the same
+ * per-test steps for code that runs several tests inside one JUnit test, like FormSweep rows.
  */
-public class JUnitlistener implements TestWatcher {
+public class JUnitlistener implements TestWatcher, BeforeEachCallback, BeforeTestExecutionCallback,
+        AfterTestExecutionCallback {
+
+    // MDC key logback-test.xml routes each test's log lines by (one file per test)
+    public static final String MDC_TEST_NAME = "testName";
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(JUnitlistener.class);
+    private static final String FAILURE_CAPTURED = "failureCaptured";
 
     private String getSafeTestName(ExtensionContext context) {
         String className = context.getTestClass().map(Class::getSimpleName).orElse("UnknownClass");
@@ -19,19 +37,94 @@ public class JUnitlistener implements TestWatcher {
         return (className + "_" + methodName + "_" + unique).replaceAll("[^a-zA-Z0-9._-]", "_");
     }
 
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        // From here (including @BeforeEach / @AfterEach) log lines go to this test's log file
+        MDC.put(MDC_TEST_NAME, getSafeTestName(context));
+        // Before @BeforeEach, so the setup steps (login, navigation) are part of a failure's replay
+        StepRecorder.reset();
+    }
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        startCapture(getSafeTestName(context), findRecordNetwork(context));
+    }
+
+    // Starts the per-test recorders; the step buffer is reset separately (before the test's setup)
+    public static void startCapture(String testName, Optional<RecordNetwork> recordNetwork) {
+        // Records DOM changes of this test when "domRecorder.enabled" is set
+        DomRecorder.start(testName);
+        // Keeps the last seconds of screen in memory when "screencast.enabled" is set
+        ScreencastRecorder.begin();
+        // Labels performance samples (CSV history) with this test
+        PerformanceCollector.startTest(testName);
+        // Streams a HAR for @RecordNetwork tests, or for every test when "har.enabled" is set
+        if (recordNetwork.isPresent() || HarRecorder.isEnabled()) {
+            HarRecorder.start(testName, recordNetwork.map(RecordNetwork::bodies).orElse(""), recordNetwork.isPresent());
+        }
+    }
+
+    // Passed: drop everything that is only kept for failures
+    public static void capturePassed(String testName) {
+        HarRecorder.finish(false);
+        TestListener.onTestSuccess(testName);
+        StepRecorder.reset();
+        DomRecorder.stop();
+        ScreencastRecorder.discard();
+    }
+
+    // Failed, browser still alive: screenshot, page source / DOM log, HAR, buffered steps and screencast
+    public static void captureFailed(String testName, Throwable cause) {
+        TestListener.onTestFailure(testName, cause);
+        HarRecorder.finish(true);
+        StepRecorder.emitBuffered();
+        ScreencastRecorder.attachOnFailure(testName);
+        DomRecorder.stop();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        // Still before @AfterEach: the browser is alive for the screenshot and page source
+        Optional<Throwable> failure = context.getExecutionException();
+        if (failure.isPresent()) {
+            TestListener.onTestFailure(getSafeTestName(context), failure.get());
+            context.getStore(NAMESPACE).put(FAILURE_CAPTURED, Boolean.TRUE);
+        }
+        // Response bodies can still be fetched, and teardown traffic stays out of the HAR
+        HarRecorder.finish(failure.isPresent());
+    }
+
+    // Failures thrown outside the test method (@BeforeEach / @AfterEach) were not captured yet
+    private void captureIfMissed(ExtensionContext context, String testName, Throwable cause) {
+        if (context.getStore(NAMESPACE).get(FAILURE_CAPTURED) == null) {
+            TestListener.onTestFailure(testName, cause);
+        }
+    }
+
+    private Optional<RecordNetwork> findRecordNetwork(ExtensionContext context) {
+        Optional<RecordNetwork> onMethod = AnnotationSupport.findAnnotation(context.getTestMethod(), RecordNetwork.class);
+        return onMethod.isPresent() ? onMethod
+                : AnnotationSupport.findAnnotation(context.getTestClass(), RecordNetwork.class);
+    }
+
     @Override
     public void testSuccessful(ExtensionContext context) {
         String testName = getSafeTestName(context);
         System.out.println("[JUnitListener] PASSED -> " + testName);
-        TestListener.onTestSuccess(testName);
+        capturePassed(testName);
+        MDC.remove(MDC_TEST_NAME);
     }
 
     @Override
     public void testFailed(ExtensionContext context, Throwable cause) {
         String testName = getSafeTestName(context);
         System.err.println("[JUnitListener] FAILED -> " + testName);
-        // Take screenshot immediately while WebDriver is alive
-        TestListener.onTestFailure(testName, cause);
+        captureIfMissed(context, testName, cause);
+        // Page-object actions of this test become Allure steps only now that it failed
+        StepRecorder.emitBuffered();
+        ScreencastRecorder.attachOnFailure(testName);
+        DomRecorder.stop();
+        MDC.remove(MDC_TEST_NAME);
     }
 
     @Override
@@ -39,12 +132,18 @@ public class JUnitlistener implements TestWatcher {
         String testName = getSafeTestName(context);
         System.out.println("[JUnitListener] SKIPPED -> " + testName + " Reason: " + reason.orElse("No reason"));
         TestListener.onTestSkipped(testName, reason.orElse("No reason"));
+        StepRecorder.reset();
+        ScreencastRecorder.discard();
     }
 
     @Override
     public void testAborted(ExtensionContext context, Throwable cause) {
         String testName = getSafeTestName(context);
         System.out.println("[JUnitListener] ABORTED -> " + testName);
-        TestListener.onTestFailure(testName, cause);
+        captureIfMissed(context, testName, cause);
+        StepRecorder.emitBuffered();
+        ScreencastRecorder.attachOnFailure(testName);
+        DomRecorder.stop();
+        MDC.remove(MDC_TEST_NAME);
     }
 }
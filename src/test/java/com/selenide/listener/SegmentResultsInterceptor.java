@@ -0,0 +1,47 @@
+package com.selenide.listener;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import org.junit.platform.launcher.LauncherInterceptor;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * SegmentResultsInterceptor: routes Allure results into {@link SegmentResultsWriter} when
+ * {@code allure.segments=true}. Launcher interceptors are created before the test execution
+ * listeners, so the Allure JUnit listener picks up this lifecycle instead of the file-per-result one.
+ * Registered through META-INF/services and enabled in junit-platform.properties.
+ */
+public class SegmentResultsInterceptor implements LauncherInterceptor {
+
+    private final SegmentResultsWriter writer;
+
+    public SegmentResultsInterceptor() {
+        if (SegmentResultsWriter.isEnabled()) {
+            writer = SegmentResultsWriter.fromConfig();
+            Allure.setLifecycle(new AllureLifecycle(writer));
+        } else {
+            writer = null;
+        }
+    }
+
+    @Override
+    public <T> T intercept(Invocation<T> invocation) {
+        return invocation.proceed();
+    }
+
+    @Override
+    public void close() {
+        if (writer == null) {
+            return;
+        }
+        // Attachments may still be on their way from the artifact pipeline
+        ArtifactPipeline.drain(Duration.ofSeconds(30));
+        try {
+            writer.close();
+        } catch (IOException e) {
+            System.err.println("[SegmentResultsInterceptor] Could not export Allure segments: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.selenide.tests;
+
+import com.codeborne.selenide.logevents.SelenideLogger;
+import com.selenide.utils.ActionEpoch;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ActionEpochTest: which Selenide log events invalidate cached page state.
+ * Events are logged the way Selenide's Navigator and element commands log them; needs no browser.
+ */
+@Epic("Framework")
+@Feature("Page Snapshots")
+public class ActionEpochTest {
+
+    @BeforeEach
+    public void listen() {
+        ActionEpoch.ensureListening();
+    }
+
+    @Test
+    @Story("Navigations invalidate snapshots")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("open and refresh are logged with the command as element and must bump the epoch")
+    public void testOpenAndRefreshBumpEpoch() {
+        long before = ActionEpoch.current();
+        SelenideLogger.run("open", "https://www.saucedemo.com/inventory.html", () -> { });
+        assertEquals(before + 1, ActionEpoch.current(), "open should bump the epoch");
+
+        SelenideLogger.run("refresh", "", () -> { });
+        assertEquals(before + 2, ActionEpoch.current(), "refresh should bump the epoch");
+    }
+
+    @Test
+    @Story("Navigations invalidate snapshots")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Element actions bump the epoch, read-only commands do not")
+    public void testOnlyMutatingActionsBumpEpoch() {
+        long before = ActionEpoch.current();
+        SelenideLogger.run("#add-to-cart", "click()", () -> { });
+        assertEquals(before + 1, ActionEpoch.current(), "click should bump the epoch");
+
+        SelenideLogger.run("#title", "should have(text \"Products\")", () -> { });
+        assertEquals(before + 1, ActionEpoch.current(), "a check should not bump the epoch");
+
+        assertTrue(ActionEpoch.isMutating("back", ""), "back is a navigation");
+        assertTrue(ActionEpoch.isMutating("forward", ""), "forward is a navigation");
+    }
+}
@@ -3,27 +3,31 @@ package com.selenide.tests;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.selenide.base.BaseTest;
-import com.selenide.listener.JUnitlistener;
+import com.selenide.base.AppState;
+import com.selenide.base.RequiresState;
+import com.selenide.base.SharedSession;
+import com.selenide.base.StateGraphOrderer;
 import com.selenide.pages.CartPage;
 import com.selenide.pages.LoginPage;
 import com.selenide.pages.ProductsPage;
+import com.selenide.utils.CartState;
 import io.qameta.allure.*;
 import io.qameta.allure.model.Status;
 import org.junit.jupiter.api.*;
-import org.junit.jupiter.api.extension.ExtendWith;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @Epic("Cart Feature")
-@ExtendWith(JUnitlistener.class)
 @Feature("Cart Page")
 @Tag("regression")
-@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@TestMethodOrder(StateGraphOrderer.class)
+@SharedSession
 public class CartTests extends BaseTest {
 
     private static JsonNode cartData;
@@ -43,6 +47,11 @@ public class CartTests extends BaseTest {
 
     @BeforeEach
     public void login() {
+        if (isSessionReused()) {
+            productsPage = new ProductsPage();
+            return;
+        }
+
         // Login → ProductsPage
         productsPage = new LoginPage()
                 .openPage()
@@ -101,6 +110,7 @@ public class CartTests extends BaseTest {
     @Severity(SeverityLevel.CRITICAL)
     @Description("Verify that added items appear in the CartPage")
     @DisplayName("Add items to cart and check cart page")
+    @RequiresState(end = AppState.CART_WITH_ITEMS)
     public void testAddedItemsAppearInCart() {
         // Arrange: get the test product
         String productName = cartData.get("testProduct").asText();
@@ -127,9 +137,9 @@ public class CartTests extends BaseTest {
     @Description("Verify that an item can be removed from the CartPage")
     @DisplayName("Remove added item from cart")
     public void testRemoveItemFromCart() {
-        // Arrange: add product first
+        // Arrange: seed the cart directly, adding through the UI is covered elsewhere
         String productName = cartData.get("testProduct").asText();
-        productsPage.addProductToCart(productName);
+        CartState.seed(List.of(productName));
 
         // Open CartPage
         cartPage = productsPage.openCart();
@@ -147,4 +157,31 @@ public class CartTests extends BaseTest {
                 "Cart item count should be zero after removal");
     }
 
+    @Test
+    @Story("Cart Modification")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Verify that several products can be added and removed as one batch")
+    @DisplayName("Bulk add and remove products")
+    public void testBulkAddAndRemoveProducts() {
+        // Arrange: products for the batch
+        List<String> productNames = new ArrayList<>();
+        cartData.get("bulkProducts").forEach(node -> productNames.add(node.asText()));
+
+        // Act: add them all in one batch (the badge count is verified by the page object)
+        productsPage.addProductsToCart(productNames);
+        cartPage = productsPage.openCart();
+
+        // Assert: every product is in the cart
+        assertEquals(productNames.size(), cartPage.getCartItemCount(),
+                "Cart should contain every product of the batch");
+        productNames.forEach(name -> assertTrue(cartPage.isProductInCart(name),
+                "Cart should contain: " + name));
+
+        // Act: remove them all in one batch
+        cartPage.removeProducts(productNames);
+
+        // Assert: cart is empty again
+        assertEquals(0, cartPage.getCartItemCount(), "Cart should be empty after bulk removal");
+    }
+
 }
@@ -6,23 +6,28 @@ import com.codeborne.selenide.WebDriverRunner;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.selenide.base.BaseTest;
-import com.selenide.listener.JUnitlistener;
+import com.selenide.base.FormSweep;
+import com.selenide.base.RecordNetwork;
 import com.selenide.pages.CartPage;
 import com.selenide.pages.CheckoutPage;
 import com.selenide.pages.LoginPage;
 import com.selenide.pages.ProductsPage;
+import com.selenide.utils.CartState;
+import com.selenide.utils.JourneyCheckpoints;
+import com.selenide.utils.WaitUtil;
 import io.qameta.allure.*;
 import org.junit.jupiter.api.*;
-import org.junit.jupiter.api.extension.ExtendWith;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @Epic("Checkout Feature")
-@ExtendWith(JUnitlistener.class)
 @Feature("Checkout Page")
 @Tag("regression")
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
@@ -46,20 +51,34 @@ public class CheckoutTests extends BaseTest {
 
     @BeforeEach
     public void loginAndNavigateToCheckoutPage() {
-        // Login → ProductsPage
-        productsPage = new LoginPage()
-                .openPage()
-                .setUsername(validUser.get("username").asText())
-                .setPassword(validUser.get("password").asText())
-                .submitValidLogin();
-
-        // Add at least one product to cart before navigating to CartPage
-        String productName = checkoutData.get("testProduct").asText();
-        productsPage.addProductToCart(productName);
-
-        // Navigate: ProductsPage → CartPage → CheckoutPage
-        cartPage = productsPage.openCart();
-        checkoutPage = cartPage.checkout(); // CartPage.checkout() returns CheckoutPage
+        // Login → add product → Cart → Checkout is walked once, then restored from a checkpoint
+        JourneyCheckpoints.restoreOrBuild("checkout-step-one", () -> {
+            ProductsPage products = new LoginPage()
+                    .openPage()
+                    .setUsername(validUser.get("username").asText())
+                    .setPassword(validUser.get("password").asText())
+                    .submitValidLogin();
+
+            // Seed at least one product into the cart before navigating to CartPage
+            CartState.seed(List.of(checkoutData.get("testProduct").asText()));
+            products.openCart().checkout();
+            WaitUtil.waitForUrlContains("checkout-step-one");
+        });
+
+        productsPage = new ProductsPage();
+        cartPage = new CartPage();
+        checkoutPage = new CheckoutPage();
+    }
+
+    // Continues to the Checkout Overview page with the valid information from JSON
+    private void navigateToCheckoutOverview() {
+        JourneyCheckpoints.restoreOrBuild("checkout-step-two", "checkout-step-one", () -> {
+            checkoutPage.enterFirstName(checkoutData.get("validInfo").get("firstName").asText())
+                    .enterLastName(checkoutData.get("validInfo").get("lastName").asText())
+                    .enterPostalCode(checkoutData.get("validInfo").get("postalCode").asText())
+                    .continueCheckout();
+            WaitUtil.waitForUrlContains("checkout-step-two");
+        });
     }
 
 
@@ -76,84 +95,26 @@ public class CheckoutTests extends BaseTest {
     }
 
 
-    @Test
+    @TestFactory
     @Story("Checkout Information Validation")
     @Severity(SeverityLevel.CRITICAL)
-    @Description("Verify error when all fields are empty")
+    @Description("Verify the error for every empty-field combination; all rows run in one browser session")
     @DisplayName("Checkout empty fields validation")
-    public void testEmptyAllFields() {
-        JsonNode testCase = checkoutData.get("emptyFields").get(0);
-        checkoutPage.enterFirstName(testCase.get("firstName").asText())
-                .enterLastName(testCase.get("lastName").asText())
-                .enterPostalCode(testCase.get("postalCode").asText())
-                .continueCheckout();
-
-        assertEquals(testCase.get("expectedError").asText(), checkoutPage.getErrorMessage());
-        checkoutPage.closeErrorMessage();
-    }
-
-    @Test
-    @Story("Checkout Information Validation")
-    @Severity(SeverityLevel.CRITICAL)
-    @Description("Verify error when first name is empty")
-    @DisplayName("Checkout empty first name validation")
-    public void testEmptyFirstName() {
-        JsonNode testCase = checkoutData.get("emptyFields").get(1);
-        checkoutPage.enterFirstName(testCase.get("firstName").asText())
-                .enterLastName(testCase.get("lastName").asText())
-                .enterPostalCode(testCase.get("postalCode").asText())
-                .continueCheckout();
-
-        assertEquals(testCase.get("expectedError").asText(), checkoutPage.getErrorMessage());
-        checkoutPage.closeErrorMessage();
-    }
-
-    @Test
-    @Story("Checkout Information Validation")
-    @Severity(SeverityLevel.CRITICAL)
-    @Description("Verify error when last name is empty")
-    @DisplayName("Checkout empty last name validation")
-    public void testEmptyLastName() {
-        JsonNode testCase = checkoutData.get("emptyFields").get(2);
-        checkoutPage.enterFirstName(testCase.get("firstName").asText())
-                .enterLastName(testCase.get("lastName").asText())
-                .enterPostalCode(testCase.get("postalCode").asText())
-                .continueCheckout();
-
-        assertEquals(testCase.get("expectedError").asText(), checkoutPage.getErrorMessage());
-        checkoutPage.closeErrorMessage();
-    }
-
-    @Test
-    @Story("Checkout Information Validation")
-    @Severity(SeverityLevel.CRITICAL)
-    @Description("Verify error when postal code is empty")
-    @DisplayName("Checkout empty postal code validation")
-    public void testEmptyPostalCode() {
-        JsonNode testCase = checkoutData.get("emptyFields").get(3);
-        checkoutPage.enterFirstName(testCase.get("firstName").asText())
-                .enterLastName(testCase.get("lastName").asText())
-                .enterPostalCode(testCase.get("postalCode").asText())
-                .continueCheckout();
-
-        assertEquals(testCase.get("expectedError").asText(), checkoutPage.getErrorMessage());
-        checkoutPage.closeErrorMessage();
-    }
-
-    @Test
-    @Story("Checkout Information Validation")
-    @Severity(SeverityLevel.CRITICAL)
-    @Description("Verify error when last name and postal code are empty")
-    @DisplayName("Checkout empty last name and postal code validation")
-    public void testEmptyLastNameAndPostalCode() {
-        JsonNode testCase = checkoutData.get("emptyFields").get(4);
-        checkoutPage.enterFirstName(testCase.get("firstName").asText())
-                .enterLastName(testCase.get("lastName").asText())
-                .enterPostalCode(testCase.get("postalCode").asText())
-                .continueCheckout();
-
-        assertEquals(testCase.get("expectedError").asText(), checkoutPage.getErrorMessage());
-        checkoutPage.closeErrorMessage();
+    public Stream<DynamicTest> testEmptyFieldsSweep() {
+        List<JsonNode> cases = new ArrayList<>();
+        checkoutData.get("emptyFields").forEach(cases::add);
+
+        return FormSweep.of(cases, testCase -> "Checkout " + testCase.get("case").asText())
+                .resetWith(() -> checkoutPage.resetForm())
+                .rebuildWith(this::loginAndNavigateToCheckoutPage)
+                .run(testCase -> {
+                    checkoutPage.enterFirstName(testCase.get("firstName").asText())
+                            .enterLastName(testCase.get("lastName").asText())
+                            .enterPostalCode(testCase.get("postalCode").asText())
+                            .continueCheckout();
+
+                    assertEquals(testCase.get("expectedError").asText(), checkoutPage.getErrorMessage());
+                });
     }
 
     @Test
@@ -296,10 +257,7 @@ public class CheckoutTests extends BaseTest {
     @DisplayName("Checkout Cancel returns to Homepage")
     public void testCheckoutCancelReturnsHome() {
         // Fill valid information from JSON
-        checkoutPage.enterFirstName(checkoutData.get("validInfo").get("firstName").asText())
-                .enterLastName(checkoutData.get("validInfo").get("lastName").asText())
-                .enterPostalCode(checkoutData.get("validInfo").get("postalCode").asText())
-                .continueCheckout(); // proceed to Overview page
+        navigateToCheckoutOverview(); // proceed to Overview page
 
         // Scroll and click Cancel
         checkoutPage.cancelCheckout();
@@ -317,12 +275,10 @@ public class CheckoutTests extends BaseTest {
     @Severity(SeverityLevel.CRITICAL)
     @Description("Verify that clicking Finish on Checkout Overview page shows success message")
     @DisplayName("Checkout Finish shows success message")
+    @RecordNetwork
     public void testCheckoutFinishShowsSuccessMessage() {
         // Fill valid information from JSON and continue to overview
-        checkoutPage.enterFirstName(checkoutData.get("validInfo").get("firstName").asText())
-                .enterLastName(checkoutData.get("validInfo").get("lastName").asText())
-                .enterPostalCode(checkoutData.get("validInfo").get("postalCode").asText())
-                .continueCheckout(); // proceed to Overview page
+        navigateToCheckoutOverview(); // proceed to Overview page
 
         // Scroll and click Finish
         checkoutPage.finishCheckout();
@@ -345,10 +301,7 @@ public class CheckoutTests extends BaseTest {
     @DisplayName("Checkout Finish and Navigate Back Home")
     public void testCheckoutFinishAndBackHome() {
         // Fill valid information from JSON and continue to overview
-        checkoutPage.enterFirstName(checkoutData.get("validInfo").get("firstName").asText())
-                .enterLastName(checkoutData.get("validInfo").get("lastName").asText())
-                .enterPostalCode(checkoutData.get("validInfo").get("postalCode").asText())
-                .continueCheckout(); // proceed to Overview page
+        navigateToCheckoutOverview(); // proceed to Overview page
 
         // Scroll and click Finish
         checkoutPage.finishCheckout();
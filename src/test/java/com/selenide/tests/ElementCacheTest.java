@@ -0,0 +1,210 @@
+package com.selenide.tests;
+
+import com.codeborne.selenide.Configuration;
+import com.codeborne.selenide.SelenideElement;
+import com.codeborne.selenide.WebDriverRunner;
+import com.selenide.utils.ActionEpoch;
+import com.selenide.utils.ElementCache;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.codeborne.selenide.Selenide.$;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ElementCacheTest: WebDriver commands issued with and without the element cache, counted on an
+ * in-memory driver (every call on the driver or an element stands for one command round trip).
+ * Needs no browser.
+ */
+@Epic("Framework")
+@Feature("Element Cache")
+public class ElementCacheTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ElementCacheTest.class);
+
+    private final CountingDriver driver = new CountingDriver();
+    private final SelenideElement firstName = $("#first-name");
+    private final SelenideElement lastName = $("#last-name");
+    private final SelenideElement postalCode = $("#postal-code");
+    private final SelenideElement continueButton = $("#continue");
+    private long savedTimeout;
+
+    @BeforeEach
+    public void useCountingDriver() {
+        savedTimeout = Configuration.timeout;
+        Configuration.timeout = 4000;
+        WebDriverRunner.setWebDriver(driver.proxy);
+        ActionEpoch.ensureListening();
+    }
+
+    @AfterEach
+    public void restore() {
+        WebDriverRunner.closeWebDriver();
+        System.clearProperty("elementCache");
+        Configuration.timeout = savedTimeout;
+    }
+
+    @Test
+    @Story("Cached references save lookups")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Fill the checkout form twice on one page object, with and without the cache")
+    public void testCachedFormFillingIssuesFewerCommands() {
+        int[] plain = fillTwice(false);
+        int[] cached = fillTwice(true);
+
+        String summary = String.format("Checkout form commands (3 inputs + continue)%n"
+                        + "  without cache: first fill %d, second fill %d%n"
+                        + "  with cache:    first fill %d, second fill %d",
+                plain[0], plain[1], cached[0], cached[1]);
+        logger.info(summary);
+        Allure.addAttachment("Element cache command counts", summary);
+
+        assertEquals(plain[0], cached[0], "A cold cache costs no extra command: " + summary);
+        assertEquals(plain[1] - 4, cached[1], "A warm cache saves one findElement per action: " + summary);
+    }
+
+    @Test
+    @Story("Stale references are retried at once")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("A cached reference that went stale is replaced by a fresh lookup without waiting for the timeout")
+    public void testStaleReferenceRetriesWithoutWaiting() {
+        System.setProperty("elementCache", "true");
+        ElementCache cache = new ElementCache("StaleCheck");
+        cache.with(continueButton, SelenideElement::click);
+
+        driver.rerender();
+        long start = System.nanoTime();
+        cache.with(continueButton, SelenideElement::click);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis < Configuration.timeout / 2,
+                "Stale retry took " + elapsedMillis + " ms (timeout " + Configuration.timeout + " ms)");
+        assertEquals(2, driver.clicks.get(), "Both clicks reached a live element");
+        assertTrue(ElementCache.report().contains("StaleCheck hits=1 misses=1 (50%) staleRetries=1"), ElementCache.report());
+    }
+
+    // Commands of the first and second fill of the same form on one page object
+    private int[] fillTwice(boolean cacheEnabled) {
+        System.setProperty("elementCache", String.valueOf(cacheEnabled));
+        ElementCache cache = new ElementCache(cacheEnabled ? "Cached" : "Plain");
+        int[] commands = new int[2];
+        for (int pass = 0; pass < 2; pass++) {
+            int before = driver.commands.get();
+            cache.with(firstName, e -> e.setValue("Jane"));
+            cache.with(lastName, e -> e.setValue("Doe"));
+            cache.with(postalCode, e -> e.setValue("12345"));
+            cache.with(continueButton, SelenideElement::click);
+            commands[pass] = driver.commands.get() - before;
+        }
+        return commands;
+    }
+
+    // In-memory WebDriver: every element is visible and enabled; rerender() makes all handed-out references stale
+    private static final class CountingDriver {
+        final AtomicInteger commands = new AtomicInteger();
+        final AtomicInteger clicks = new AtomicInteger();
+        private volatile int generation;
+        final WebDriver proxy = (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {WebDriver.class, JavascriptExecutor.class, HasCapabilities.class}, this::onDriver);
+
+        void rerender() {
+            generation++;
+        }
+
+        private Object onDriver(Object self, java.lang.reflect.Method method, Object[] args) {
+            switch (method.getName()) {
+                case "getCapabilities":
+                    return new ImmutableCapabilities("browserName", "chrome");
+                case "toString":
+                    return "CountingDriver";
+                case "hashCode":
+                    return System.identityHashCode(self);
+                case "equals":
+                    return self == args[0];
+                case "findElement":
+                    commands.incrementAndGet();
+                    return element((By) args[0]);
+                case "findElements":
+                    commands.incrementAndGet();
+                    return List.of(element((By) args[0]));
+                case "executeScript":
+                case "executeAsyncScript":
+                    commands.incrementAndGet();
+                    return String.valueOf(args[0]).contains("__domVersion") ? 0L : null;
+                case "quit":
+                case "close":
+                    return null;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        }
+
+        private WebElement element(By by) {
+            int born = generation;
+            InvocationHandler handler = (self, method, args) -> {
+                switch (method.getName()) {
+                    case "getWrappedDriver":
+                        return proxy;
+                    case "toString":
+                        return "<" + by + ">";
+                    case "hashCode":
+                        return System.identityHashCode(self);
+                    case "equals":
+                        return self == args[0];
+                    default:
+                        break;
+                }
+                commands.incrementAndGet();
+                if (born != generation) {
+                    throw new StaleElementReferenceException("stale element reference: " + by);
+                }
+                switch (method.getName()) {
+                    case "click":
+                        clicks.incrementAndGet();
+                        return null;
+                    case "isDisplayed":
+                    case "isEnabled":
+                        return true;
+                    case "isSelected":
+                        return false;
+                    case "getTagName":
+                        return "input";
+                    case "getText":
+                    case "getCssValue":
+                        return "";
+                    case "getLocation":
+                        return new Point(0, 0);
+                    case "getSize":
+                        return new Dimension(10, 10);
+                    case "getRect":
+                        return new Rectangle(0, 0, 10, 10);
+                    case "findElements":
+                        return List.of();
+                    default:
+                        return null;
+                }
+            };
+            return (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] {WebElement.class, WrapsDriver.class}, handler);
+        }
+    }
+}
@@ -5,20 +5,20 @@ import com.codeborne.selenide.SelenideElement;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.selenide.base.BaseTest;
-import com.selenide.listener.JUnitlistener;
+import com.selenide.base.FormSweep;
 import com.selenide.pages.LoginPage;
 import io.qameta.allure.*;
 import org.junit.jupiter.api.*;
-import org.junit.jupiter.api.extension.ExtendWith;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
+import java.util.stream.Stream;
 
 import static com.codeborne.selenide.Selenide.$;
 import static org.junit.jupiter.api.Assertions.*;
 
 @Epic("Login Feature")
-@ExtendWith(JUnitlistener.class)
 @Feature("User Login")
 @Tag("smoke")
 public class LoginTest extends BaseTest {
@@ -48,78 +48,28 @@ public class LoginTest extends BaseTest {
         assertTrue(loginPage.isDashboardVisible(), "Dashboard should be visible after successful login");
     }
 
-    @Test
-    @Story("Locked out user cannot login")
+    @TestFactory
+    @Story("Invalid credentials are rejected")
     @Severity(SeverityLevel.CRITICAL)
-    @Description("Verify that a locked out user sees an error message")
-    public void testLockedOutUser() {
-        JsonNode user = loginData.get("lockedOutUser");
-        loginPage.loginExpectingError(user.get("username").asText(), user.get("password").asText());
-        assertEquals("Epic sadface: Sorry, this user has been locked out.", loginPage.getErrorMessageText());
-    }
-
-    @Test
-    @Story("User enters invalid password")
-    @Severity(SeverityLevel.NORMAL)
-    @Description("Verify login fails with invalid password")
-    public void testInvalidPassword() {
-        JsonNode user = loginData.get("invalidPassword");
-        loginPage.loginExpectingError(user.get("username").asText(), user.get("password").asText());
-        assertEquals(
-                "Epic sadface: Username and password do not match any user in this service",
-                loginPage.getErrorMessageText()
-        );
-    }
-
-
-    @Test
-    @Story("User enters invalid username")
-    @Severity(SeverityLevel.NORMAL)
-    @Description("Verify login fails with invalid username")
-    public void testInvalidUsername() {
-        JsonNode user = loginData.get("invalidUsername");
-
-        loginPage.loginExpectingError(user.get("username").asText(), user.get("password").asText());
-
-        assertTrue(loginPage.isErrorMessageVisible(), "Error message should be visible for invalid username");
-    }
-
-
-    @Test
-    @Story("User leaves username empty")
-    @Severity(SeverityLevel.MINOR)
-    @Description("Verify login fails if username is empty")
-    public void testEmptyUsername() {
-        JsonNode user = loginData.get("emptyUsername");
-
-        loginPage.loginExpectingError(user.get("username").asText(), user.get("password").asText());
-
-        assertEquals("Epic sadface: Username is required", loginPage.getErrorMessageText());
-    }
-
-    @Test
-    @Story("User leaves password empty")
-    @Severity(SeverityLevel.MINOR)
-    @Description("Verify login fails if password is empty")
-    public void testEmptyPassword() {
-        JsonNode user = loginData.get("emptyPassword");
-
-        loginPage.loginExpectingError(user.get("username").asText(), user.get("password").asText());
-
-        assertEquals("Epic sadface: Password is required", loginPage.getErrorMessageText());
-    }
-
-
-    @Test
-    @Story("User leaves both username and password empty")
-    @Severity(SeverityLevel.MINOR)
-    @Description("Verify login fails if both fields are empty")
-    public void testEmptyBothFields() {
-        JsonNode user = loginData.get("emptyBoth");
-
-        loginPage.loginExpectingError(user.get("username").asText(), user.get("password").asText());
-
-        assertEquals("Epic sadface: Username is required", loginPage.getErrorMessageText());
+    @Description("Verify the login error for every negative credential set (locked out, invalid password, " +
+            "invalid username, empty fields); all rows run in one browser session")
+    public Stream<DynamicTest> testNegativeLoginSweep() {
+        List<String> cases = List.of("lockedOutUser", "invalidPassword", "invalidUsername",
+                "emptyUsername", "emptyPassword", "emptyBoth");
+
+        return FormSweep.of(cases, key -> "Negative login: " + key)
+                .resetWith(() -> loginPage.resetForm())
+                .rebuildWith(() -> loginPage.openPage())
+                .run(key -> {
+                    JsonNode user = loginData.get(key);
+                    loginPage.loginExpectingError(user.get("username").asText(), user.get("password").asText());
+
+                    if (user.has("expectedError")) {
+                        assertEquals(user.get("expectedError").asText(), loginPage.getErrorMessageText());
+                    } else {
+                        assertTrue(loginPage.isErrorMessageVisible(), "Error message should be visible for " + key);
+                    }
+                });
     }
 
 
@@ -7,13 +7,15 @@ package com.selenide.tests;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.selenide.base.BaseTest;
-import com.selenide.listener.JUnitlistener;
+import com.selenide.base.AppState;
+import com.selenide.base.RequiresState;
+import com.selenide.base.SharedSession;
+import com.selenide.base.StateGraphOrderer;
 import com.selenide.pages.LoginPage;
 import com.selenide.pages.ProductDetailPage;
 import com.selenide.pages.ProductsPage;
 import io.qameta.allure.*;
 import org.junit.jupiter.api.*;
-import org.junit.jupiter.api.extension.ExtendWith;
 
 import java.io.File;
 import java.io.IOException;
@@ -25,10 +27,10 @@ import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 
 @Epic("Products Feature")
-@ExtendWith(JUnitlistener.class)
 @Feature("Products Page")
 @Tag("smoke")
-@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@TestMethodOrder(StateGraphOrderer.class)
+@SharedSession
 public class ProductsTest extends BaseTest {
 
     static JsonNode productData;
@@ -46,6 +48,11 @@ public class ProductsTest extends BaseTest {
 
     @BeforeEach
     public void loginAndNavigateToProductsPage() {
+        if (isSessionReused()) {
+            productsPage = new ProductsPage();
+            return;
+        }
+
         // ✅ Login once, land directly on ProductsPage
         productsPage = new LoginPage()
                 .openPage()
@@ -74,6 +81,7 @@ public class ProductsTest extends BaseTest {
     @Story("Add to Cart from Products Page")
     @Severity(SeverityLevel.CRITICAL)
     @Description("Verify that a product can be added to the cart and the cart badge updates correctly")
+    @RequiresState(end = AppState.CART_WITH_ITEMS)
     public void testAddProductToCart() {
         // Arrange
         String productName = productData.get("testProduct").asText();
@@ -111,6 +119,7 @@ public class ProductsTest extends BaseTest {
     @Story("Add product to cart from Product Detail Page")
     @Severity(SeverityLevel.CRITICAL)
     @Description("Verify that a user can add a product to the cart from the product detail page")
+    @RequiresState(end = AppState.CART_WITH_ITEMS)
     public void testAddToCartFromProductDetailPage() {
         // Arrange
         String productName = productData.get("productToAddFromDetail").asText();
@@ -210,6 +219,7 @@ public class ProductsTest extends BaseTest {
     @Story("Logout from the application")
     @Severity(SeverityLevel.CRITICAL)
     @Description("Verify that the user can log out successfully from the Products page")
+    @RequiresState(end = AppState.LOGGED_OUT)
     public void testLogoutFromProductsPage() {
         // Act: perform logout
         LoginPage loginPage = productsPage.logout();
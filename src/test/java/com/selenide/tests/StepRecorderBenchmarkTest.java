@@ -0,0 +1,134 @@
+package com.selenide.tests;
+
+import com.codeborne.selenide.SelenideElement;
+import com.selenide.base.BasePage;
+import com.selenide.listener.StepRecorder;
+import io.qameta.allure.*;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.util.NamingUtils;
+import io.qameta.allure.util.ResultsUtils;
+import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.codeborne.selenide.Selenide.$;
+
+/**
+ * StepRecorderBenchmarkTest: per-action cost of step recording through BasePage.step (lambda, Supplier
+ * wrapper and StepRecorder), buffered versus full fidelity, next to the old @Step path (what Allure's
+ * step aspect does around an annotated method) and the bare action. Needs no browser. Excluded from
+ * normal runs; run with: mvn test -Dgroups=benchmark -DexcludedGroups= -Dtest=StepRecorderBenchmarkTest
+ */
+@Epic("Framework")
+@Feature("Step Recording")
+@Tag("benchmark")
+public class StepRecorderBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(StepRecorderBenchmarkTest.class);
+
+    private static final int WARMUP = 5_000;
+    private static final int ACTIONS = 2_000;
+
+    private enum Mode { BARE, BUFFERED, FULL_FIDELITY, STEP_ANNOTATION }
+
+    @AfterEach
+    public void restoreMode() {
+        StepRecorder.setFullFidelity(false);
+        StepRecorder.reset();
+    }
+
+    @Test
+    @Story("Buffered versus full-fidelity step recording")
+    @Severity(SeverityLevel.MINOR)
+    @Description("Measure the recording overhead per page-object action in both modes and with the old @Step path")
+    public void benchmarkStepRecordingModes() {
+        BenchmarkPage page = new BenchmarkPage();
+        SelenideElement element = $("#user-name");
+
+        for (Mode mode : Mode.values()) {
+            measure(mode, page, element, WARMUP);
+        }
+        long bare = measure(Mode.BARE, page, element, ACTIONS);
+        long buffered = measure(Mode.BUFFERED, page, element, ACTIONS);
+        long full = measure(Mode.FULL_FIDELITY, page, element, ACTIONS);
+        long annotation = measure(Mode.STEP_ANNOTATION, page, element, ACTIONS);
+
+        String summary = String.format("Step recording cost per action (%d actions)%n"
+                        + "  bare action:   %d ns/action%n"
+                        + "  buffered:      %d ns/action%n"
+                        + "  full fidelity: %d ns/action%n"
+                        + "  @Step aspect:  %d ns/action",
+                ACTIONS, bare, buffered, full, annotation);
+        logger.info(summary);
+        Allure.addAttachment("Step recording benchmark", summary);
+    }
+
+    // Average ns per action in the given mode
+    private static long measure(Mode mode, BenchmarkPage page, SelenideElement element, int actions) {
+        StepRecorder.setFullFidelity(mode == Mode.FULL_FIDELITY);
+        StepRecorder.reset();
+        long start = System.nanoTime();
+        for (int i = 0; i < actions; i++) {
+            switch (mode) {
+                case BARE:
+                    page.bareType(element, "standard_user");
+                    break;
+                case STEP_ANNOTATION:
+                    page.annotatedType(element, "standard_user");
+                    break;
+                default:
+                    page.recordedType(element, "standard_user");
+                    break;
+            }
+        }
+        return (System.nanoTime() - start) / actions;
+    }
+
+    // Page object whose action body is browser-free, so only the recording around it is measured
+    private static final class BenchmarkPage extends BasePage {
+        private long typed;
+
+        @Override
+        protected SelenideElement getPageIdentifier() {
+            return $("#login-button");
+        }
+
+        // Same shape as BasePage.type: the action runs inside step(...)
+        void recordedType(SelenideElement element, String text) {
+            step("Type into element", element, text, () -> typeInto(element, text));
+        }
+
+        void bareType(SelenideElement element, String text) {
+            typeInto(element, text);
+        }
+
+        // What the @Step("Type '{text}' into element: {element}") aspect did around the action.
+        // The aspect formatted the element with toString(), which queries the browser; the locator
+        // is used here, so this is a lower bound for the old path.
+        void annotatedType(SelenideElement element, String text) {
+            AllureLifecycle lifecycle = Allure.getLifecycle();
+            String uuid = UUID.randomUUID().toString();
+            Map<String, Object> params = Map.of("element", element.getSearchCriteria(), "text", text);
+            lifecycle.startStep(uuid, new StepResult()
+                    .setName(NamingUtils.processNameTemplate("Type '{text}' into element: {element}", params))
+                    .setParameters(List.of(
+                            ResultsUtils.createParameter("element", params.get("element")),
+                            ResultsUtils.createParameter("text", text))));
+            try {
+                typeInto(element, text);
+                lifecycle.updateStep(uuid, s -> s.setStatus(Status.PASSED));
+            } finally {
+                lifecycle.stopStep(uuid);
+            }
+        }
+
+        private void typeInto(SelenideElement element, String text) {
+            typed += text.length();
+        }
+    }
+}
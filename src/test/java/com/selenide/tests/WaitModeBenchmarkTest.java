@@ -0,0 +1,94 @@
+package com.selenide.tests;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selenide.base.BaseTest;
+import com.selenide.pages.LoginPage;
+import com.selenide.utils.WaitUtil;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+import org.openqa.selenium.By;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static com.codeborne.selenide.Selenide.$;
+import static com.codeborne.selenide.Selenide.executeJavaScript;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * WaitModeBenchmarkTest: latency from a DOM change to the test resuming,
+ * push-based (MutationObserver) versus polling waits. Excluded from normal runs;
+ * run with: mvn test -Dgroups=benchmark -DexcludedGroups=
+ */
+@Epic("Framework")
+@Feature("Wait Engine")
+@Tag("benchmark")
+public class WaitModeBenchmarkTest extends BaseTest {
+
+    private static final int ROUNDS = 10;
+    private static final int CHANGE_DELAY_MS = 300;
+
+    private static JsonNode validUser;
+
+    @BeforeAll
+    public static void loadTestData() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        validUser = mapper.readTree(new File("src/test/resources/testdata/productData.json")).get("validUser");
+    }
+
+    @BeforeEach
+    public void login() {
+        new LoginPage()
+                .openPage()
+                .setUsername(validUser.get("username").asText())
+                .setPassword(validUser.get("password").asText())
+                .submitValidLogin();
+    }
+
+    @Test
+    @Story("Push versus polling wait latency")
+    @Severity(SeverityLevel.MINOR)
+    @Description("Measure how long after the cart badge appears each wait mode lets the test resume")
+    public void benchmarkPushVersusPollingWaits() {
+        List<Long> polling = new ArrayList<>();
+        List<Long> push = new ArrayList<>();
+
+        for (int i = 0; i < ROUNDS; i++) {
+            polling.add(measure(() -> WaitUtil.waitForAtLeastOne(By.cssSelector(".shopping_cart_badge"))));
+            push.add(measure(() -> WaitUtil.waitForPresenceByMutation(".shopping_cart_badge")));
+        }
+
+        String summary = String.format("Wait latency after DOM change (%d rounds)%n  polling: %s%n  push:    %s",
+                ROUNDS, describe(polling), describe(push));
+        logger.info(summary);
+        Allure.addAttachment("Wait latency benchmark", summary);
+    }
+
+    // Adds a product from a browser timer after CHANGE_DELAY_MS and returns the ms between the change and the wait returning
+    private long measure(BooleanSupplier wait) {
+        executeJavaScript("setTimeout(function () {"
+                + " document.querySelector(\"button[data-test^='add-to-cart']\").click();"
+                + " window.__changedAt = Date.now(); }, arguments[0]);", CHANGE_DELAY_MS);
+
+        assertTrue(wait.getAsBoolean(), "Cart badge should appear");
+        long resumedAt = System.currentTimeMillis();
+        long changedAt = ((Number) executeJavaScript("return window.__changedAt")).longValue();
+
+        // Reset for the next round
+        executeJavaScript("document.querySelector(\"button[data-test^='remove']\").click();");
+        WaitUtil.waitForElementToDisappear($(".shopping_cart_badge"));
+        return resumedAt - changedAt;
+    }
+
+    private static String describe(List<Long> samples) {
+        List<Long> sorted = new ArrayList<>(samples);
+        Collections.sort(sorted);
+        return String.format("median %d ms | min %d ms | max %d ms",
+                sorted.get(sorted.size() / 2), sorted.get(0), sorted.get(sorted.size() - 1));
+    }
+}